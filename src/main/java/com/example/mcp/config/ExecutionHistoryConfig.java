@@ -0,0 +1,58 @@
+package com.example.mcp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "mcp.executions.history")
+public class ExecutionHistoryConfig {
+    
+    private int maxEntries = 10000;
+    private Duration maxAge = Duration.ofHours(1);
+    private DataSize maxBytes = DataSize.ofMegabytes(64);
+    private int defaultPageSize = 100;
+    private int maxPageSize = 1000;
+    
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+    
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+    
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+    
+    public void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+    
+    public DataSize getMaxBytes() {
+        return maxBytes;
+    }
+    
+    public void setMaxBytes(DataSize maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+    
+    public int getDefaultPageSize() {
+        return defaultPageSize;
+    }
+    
+    public void setDefaultPageSize(int defaultPageSize) {
+        this.defaultPageSize = defaultPageSize;
+    }
+    
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+    
+    public void setMaxPageSize(int maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.mcp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "mcp.executions.journal")
+public class ExecutionJournalConfig {
+    
+    private boolean enabled = false;
+    private String directory = "data/journal";
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+    private int maxBatchSize = 512;
+    private int queueCapacity = 10000;
+    private boolean fsync = true;
+    private Duration compactionInterval = Duration.ofMinutes(1);
+    private Duration offerTimeout = Duration.ofMillis(100);
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public String getDirectory() {
+        return directory;
+    }
+    
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+    
+    public DataSize getSegmentSize() {
+        return segmentSize;
+    }
+    
+    public void setSegmentSize(DataSize segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+    
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+    
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+    
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+    
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+    
+    public boolean isFsync() {
+        return fsync;
+    }
+    
+    public void setFsync(boolean fsync) {
+        this.fsync = fsync;
+    }
+    
+    public Duration getCompactionInterval() {
+        return compactionInterval;
+    }
+    
+    public void setCompactionInterval(Duration compactionInterval) {
+        this.compactionInterval = compactionInterval;
+    }
+    
+    public Duration getOfferTimeout() {
+        return offerTimeout;
+    }
+    
+    public void setOfferTimeout(Duration offerTimeout) {
+        this.offerTimeout = offerTimeout;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.mcp.config;
+
+import com.example.mcp.service.FairExecutionQueue;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class ExecutorConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutorConfig.class);
+
+    @Bean(name = "toolExecutionExecutor", destroyMethod = "shutdown")
+    public ExecutorService toolExecutionExecutor(ToolExecutionConfig config, SchedulerConfig schedulerConfig,
+                                                 MeterRegistry meterRegistry) {
+        return newBoundedPool("tool-exec-", config.getPoolSize(),
+                newQueue("default", config, schedulerConfig, meterRegistry));
+    }
+
+    @Bean(name = "blockingToolExecutor", destroyMethod = "shutdown")
+    public ExecutorService blockingToolExecutor(ToolExecutionConfig config, SchedulerConfig schedulerConfig,
+                                                MeterRegistry meterRegistry) {
+        if (config.isVirtualThreads()) {
+            try {
+                // Disponível a partir do Java 21; em versões anteriores cai no pool de plataforma
+                return (ExecutorService) Executors.class
+                        .getMethod("newVirtualThreadPerTaskExecutor")
+                        .invoke(null);
+            } catch (ReflectiveOperationException e) {
+                log.warn("Virtual threads indisponíveis nesta JVM, usando pool de threads fixo");
+            }
+        }
+
+        return newBoundedPool("tool-blocking-", config.getBlockingPoolSize(),
+                newQueue("blocking", config, schedulerConfig, meterRegistry));
+    }
+
+    /**
+     * Com o escalonador ativo a fila respeita classes de prioridade e reparte os workers entre as tools;
+     * sem ele, a ordem é FIFO com capacidade {@code queue-capacity}.
+     */
+    private static BlockingQueue<Runnable> newQueue(String poolName, ToolExecutionConfig config,
+                                                    SchedulerConfig schedulerConfig, MeterRegistry meterRegistry) {
+        return schedulerConfig.isEnabled()
+                ? new FairExecutionQueue(poolName, schedulerConfig, meterRegistry)
+                : new LinkedBlockingQueue<>(config.getQueueCapacity());
+    }
+
+    private static ExecutorService newBoundedPool(String threadPrefix, int poolSize, BlockingQueue<Runnable> queue) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            60L, TimeUnit.SECONDS,
+            queue,
+            runnable -> {
+                Thread thread = new Thread(runnable, threadPrefix + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+    }
+}
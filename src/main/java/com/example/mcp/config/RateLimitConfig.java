@@ -0,0 +1,105 @@
+package com.example.mcp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "mcp.tools.rate-limit")
+public class RateLimitConfig {
+    
+    private boolean enabled = false;
+    private Limit perTool = new Limit();
+    private Map<String, Limit> tools = new HashMap<>();
+    private Limit perClient = new Limit();
+    private String clientHeader = "X-API-Key";
+    private int maxTrackedClients = 10000;
+    private int shedQueueDepth = 800;
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public Limit getPerTool() {
+        return perTool;
+    }
+    
+    public void setPerTool(Limit perTool) {
+        this.perTool = perTool;
+    }
+    
+    public Map<String, Limit> getTools() {
+        return tools;
+    }
+    
+    public void setTools(Map<String, Limit> tools) {
+        this.tools = tools;
+    }
+    
+    public Limit getPerClient() {
+        return perClient;
+    }
+    
+    public void setPerClient(Limit perClient) {
+        this.perClient = perClient;
+    }
+    
+    public String getClientHeader() {
+        return clientHeader;
+    }
+    
+    public void setClientHeader(String clientHeader) {
+        this.clientHeader = clientHeader;
+    }
+    
+    public int getMaxTrackedClients() {
+        return maxTrackedClients;
+    }
+    
+    public void setMaxTrackedClients(int maxTrackedClients) {
+        this.maxTrackedClients = maxTrackedClients;
+    }
+    
+    public int getShedQueueDepth() {
+        return shedQueueDepth;
+    }
+    
+    public void setShedQueueDepth(int shedQueueDepth) {
+        this.shedQueueDepth = shedQueueDepth;
+    }
+    
+    /**
+     * Limite de um token bucket: {@code rate} tokens por segundo (0 = ilimitado) e rajada de até {@code burst} requisições.
+     */
+    public static class Limit {
+        
+        private double rate = 0;
+        private int burst = 1;
+        
+        public double getRate() {
+            return rate;
+        }
+        
+        public void setRate(double rate) {
+            this.rate = rate;
+        }
+        
+        public int getBurst() {
+            return burst;
+        }
+        
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+        
+        public boolean isUnlimited() {
+            return rate <= 0;
+        }
+    }
+}
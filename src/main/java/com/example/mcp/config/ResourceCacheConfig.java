@@ -0,0 +1,29 @@
+package com.example.mcp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+@Component
+@ConfigurationProperties(prefix = "mcp.resources.cache")
+public class ResourceCacheConfig {
+    
+    private boolean enabled = true;
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public DataSize getMaxSize() {
+        return maxSize;
+    }
+    
+    public void setMaxSize(DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.mcp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+@Component
+@ConfigurationProperties(prefix = "mcp.resources.index")
+public class ResourceIndexConfig {
+    
+    private Locale locale = Locale.forLanguageTag("pt-BR");
+    private int searchLimit = 100;
+    private int maxSearchLimit = 1000;
+    private int defaultPageSize = 100;
+    private int maxPageSize = 1000;
+    private List<String> metadataKeys = new ArrayList<>(List.of("source", "environment"));
+    
+    public Locale getLocale() {
+        return locale;
+    }
+    
+    public void setLocale(Locale locale) {
+        this.locale = locale;
+    }
+    
+    public int getSearchLimit() {
+        return searchLimit;
+    }
+    
+    public void setSearchLimit(int searchLimit) {
+        this.searchLimit = searchLimit;
+    }
+    
+    public int getMaxSearchLimit() {
+        return maxSearchLimit;
+    }
+    
+    public void setMaxSearchLimit(int maxSearchLimit) {
+        this.maxSearchLimit = maxSearchLimit;
+    }
+    
+    public List<String> getMetadataKeys() {
+        return metadataKeys;
+    }
+    
+    public void setMetadataKeys(List<String> metadataKeys) {
+        this.metadataKeys = metadataKeys;
+    }
+    
+    public int getDefaultPageSize() {
+        return defaultPageSize;
+    }
+    
+    public void setDefaultPageSize(int defaultPageSize) {
+        this.defaultPageSize = defaultPageSize;
+    }
+    
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+    
+    public void setMaxPageSize(int maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
+}
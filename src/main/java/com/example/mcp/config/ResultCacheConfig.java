@@ -0,0 +1,49 @@
+package com.example.mcp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "mcp.tools.cache")
+public class ResultCacheConfig {
+    
+    private boolean enabled = true;
+    private int maxEntries = 10000;
+    private DataSize maxBytes = DataSize.ofMegabytes(64);
+    private Duration ttl = Duration.ofMinutes(10);
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+    
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+    
+    public DataSize getMaxBytes() {
+        return maxBytes;
+    }
+    
+    public void setMaxBytes(DataSize maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+    
+    public Duration getTtl() {
+        return ttl;
+    }
+    
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.mcp.config;
+
+import com.example.mcp.model.ExecutionPriority;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "mcp.tools.scheduler")
+public class SchedulerConfig {
+    
+    private boolean enabled = true;
+    private PriorityClass high = new PriorityClass(8, 500);
+    private PriorityClass normal = new PriorityClass(4, 1000);
+    private PriorityClass low = new PriorityClass(1, 1000);
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public PriorityClass getHigh() {
+        return high;
+    }
+    
+    public void setHigh(PriorityClass high) {
+        this.high = high;
+    }
+    
+    public PriorityClass getNormal() {
+        return normal;
+    }
+    
+    public void setNormal(PriorityClass normal) {
+        this.normal = normal;
+    }
+    
+    public PriorityClass getLow() {
+        return low;
+    }
+    
+    public void setLow(PriorityClass low) {
+        this.low = low;
+    }
+    
+    public PriorityClass forPriority(ExecutionPriority priority) {
+        return switch (priority) {
+            case HIGH -> high;
+            case NORMAL -> normal;
+            case LOW -> low;
+        };
+    }
+    
+    /**
+     * Classe de prioridade: {@code weight} define a fatia de workers que a classe recebe quando há disputa
+     * e {@code capacity} o máximo de execuções aguardando na fila da classe.
+     */
+    public static class PriorityClass {
+        
+        private int weight;
+        private int capacity;
+        
+        public PriorityClass() {
+        }
+        
+        public PriorityClass(int weight, int capacity) {
+            this.weight = weight;
+            this.capacity = capacity;
+        }
+        
+        public int getWeight() {
+            return weight;
+        }
+        
+        public void setWeight(int weight) {
+            this.weight = weight;
+        }
+        
+        public int getCapacity() {
+            return capacity;
+        }
+        
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.mcp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "mcp.tools.text-generator")
+public class TextTemplateConfig {
+    
+    private String defaultLanguage = "pt";
+    private String templateDirectory;
+    
+    public String getDefaultLanguage() {
+        return defaultLanguage;
+    }
+    
+    public void setDefaultLanguage(String defaultLanguage) {
+        this.defaultLanguage = defaultLanguage;
+    }
+    
+    public String getTemplateDirectory() {
+        return templateDirectory;
+    }
+    
+    public void setTemplateDirectory(String templateDirectory) {
+        this.templateDirectory = templateDirectory;
+    }
+}
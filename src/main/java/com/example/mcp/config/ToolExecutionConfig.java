@@ -0,0 +1,111 @@
+package com.example.mcp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "mcp.tools.execution")
+public class ToolExecutionConfig {
+    
+    private int poolSize = Runtime.getRuntime().availableProcessors() * 2;
+    private int queueCapacity = 1000;
+    private int blockingPoolSize = 64;
+    private boolean virtualThreads = false;
+    private Duration bulkheadTimeout = Duration.ofSeconds(5);
+    private Duration defaultTimeout = Duration.ofSeconds(30);
+    private int batchMaxItems = 500;
+    private int batchMaxParallelism = 8;
+    private boolean coalescing = true;
+    private int maxKeyLength = 4096;
+    private Integer nodeId;
+    
+    public int getPoolSize() {
+        return poolSize;
+    }
+    
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+    
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+    
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+    
+    public int getBlockingPoolSize() {
+        return blockingPoolSize;
+    }
+    
+    public void setBlockingPoolSize(int blockingPoolSize) {
+        this.blockingPoolSize = blockingPoolSize;
+    }
+    
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+    
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+    
+    public Duration getBulkheadTimeout() {
+        return bulkheadTimeout;
+    }
+    
+    public void setBulkheadTimeout(Duration bulkheadTimeout) {
+        this.bulkheadTimeout = bulkheadTimeout;
+    }
+    
+    public Duration getDefaultTimeout() {
+        return defaultTimeout;
+    }
+    
+    public void setDefaultTimeout(Duration defaultTimeout) {
+        this.defaultTimeout = defaultTimeout;
+    }
+    
+    public int getBatchMaxItems() {
+        return batchMaxItems;
+    }
+    
+    public void setBatchMaxItems(int batchMaxItems) {
+        this.batchMaxItems = batchMaxItems;
+    }
+    
+    public int getBatchMaxParallelism() {
+        return batchMaxParallelism;
+    }
+    
+    public void setBatchMaxParallelism(int batchMaxParallelism) {
+        this.batchMaxParallelism = batchMaxParallelism;
+    }
+    
+    public boolean isCoalescing() {
+        return coalescing;
+    }
+    
+    public void setCoalescing(boolean coalescing) {
+        this.coalescing = coalescing;
+    }
+    
+    public int getMaxKeyLength() {
+        return maxKeyLength;
+    }
+    
+    public void setMaxKeyLength(int maxKeyLength) {
+        this.maxKeyLength = maxKeyLength;
+    }
+    
+    public Integer getNodeId() {
+        return nodeId;
+    }
+    
+    public void setNodeId(Integer nodeId) {
+        this.nodeId = nodeId;
+    }
+}
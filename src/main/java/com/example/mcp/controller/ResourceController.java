@@ -2,28 +2,58 @@ package com.example.mcp.controller;
 
 import com.example.mcp.config.WhiteLabelConfig;
 import com.example.mcp.model.Resource;
+import com.example.mcp.model.ResourceDescriptor;
+import com.example.mcp.model.ResourceDescriptorPage;
+import com.example.mcp.model.ResourceSearchResult;
+import com.example.mcp.model.ResourceTreePage;
+import com.example.mcp.service.ResourceRepresentationCache;
 import com.example.mcp.service.ResourceService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/resources")
 @CrossOrigin(origins = "*")
 public class ResourceController {
     
+    private static final String VIEW_FULL = "full";
+    private static final String VIEW_DESCRIPTOR = "descriptor";
+    
     @Autowired
     private ResourceService resourceService;
     
+    @Autowired
+    private ResourceRepresentationCache representationCache;
+    
     @Autowired
     private WhiteLabelConfig whiteLabelConfig;
     
 
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllResources() {
+    public ResponseEntity<Map<String, Object>> getAllResources(
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        if (VIEW_DESCRIPTOR.equals(view)) {
+            return listDescriptors(cursor, limit);
+        }
+        if (view != null && !VIEW_FULL.equals(view)) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", "Visão inválida: " + view + " (use full ou descriptor)",
+                "status", "error"
+            ));
+        }
+        
         List<Resource> resources = resourceService.getAllResources();
         
         Map<String, Object> response = Map.of(
@@ -36,14 +66,89 @@ public class ResourceController {
     }
     
 
+    /**
+     * Listagem paginada apenas com os descritores; o conteúdo de cada resource é obtido em /by-uri.
+     */
+    private ResponseEntity<Map<String, Object>> listDescriptors(String cursor, Integer limit) {
+        try {
+            ResourceDescriptorPage page = resourceService.listDescriptors(cursor, limit);
+            
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("resources", page.getDescriptors());
+            response.put("total", page.getDescriptors().size());
+            response.put("has_more", page.hasMore());
+            if (page.hasMore()) {
+                response.put("next_cursor", page.getNextCursor());
+            }
+            response.put("status", "success");
+            
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = Map.of(
+                "error", e.getMessage(),
+                "status", "error"
+            );
+            
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+    
+
+    /**
+     * Responde com a representação em cache do resource, comprimida se o cliente aceitar gzip.
+     * Com If-None-Match correspondente ao ETag atual, responde 304 sem serializar o resource.
+     */
     @GetMapping("/by-uri")
-    public ResponseEntity<Map<String, Object>> getResourceByUri(@RequestParam String uri) {
-        return resourceService.getResourceByUri(uri)
-                .map(resource -> ResponseEntity.ok(Map.of(
-                    "resource", resource,
-                    "status", "success"
-                )))
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<byte[]> getResourceByUri(
+            @RequestParam String uri,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        Optional<ResourceDescriptor> descriptor = representationCache.describe(uri);
+        if (descriptor.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        String matched = ifNoneMatch != null
+                ? ResourceRepresentationCache.matchingETag(descriptor.get(), ifNoneMatch)
+                : null;
+        if (matched != null) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(matched)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        
+        Optional<ResourceRepresentationCache.Representation> found = representationCache.get(descriptor.get());
+        if (found.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        ResourceRepresentationCache.Representation representation = found.get();
+        boolean gzipped = representation.getGzip() != null && acceptsGzip(acceptEncoding);
+        String eTag = representation.getETag(gzipped);
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(eTag)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzipped) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return response.body(representation.getGzip());
+        }
+        return response.body(representation.getIdentity());
+    }
+    
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                // "gzip;q=0" significa que o cliente recusa a codificação
+                return parts.length < 2 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
     }
     
 
@@ -63,17 +168,60 @@ public class ResourceController {
     
 
     @GetMapping("/search")
-    public ResponseEntity<Map<String, Object>> searchResourcesByName(@RequestParam String name) {
-        List<Resource> resources = resourceService.searchResourcesByName(name);
-        
-        Map<String, Object> response = Map.of(
-            "resources", resources,
-            "search_term", name,
-            "total", resources.size(),
-            "status", "success"
-        );
-        
-        return ResponseEntity.ok(response);
+    public ResponseEntity<Map<String, Object>> searchResourcesByName(
+            @RequestParam String name,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            ResourceSearchResult result = resourceService.searchResourcesByName(name, limit);
+            
+            Map<String, Object> response = Map.of(
+                "resources", result.getResources(),
+                "search_term", name,
+                "total", result.getResources().size(),
+                "total_matches", result.getTotalMatches(),
+                "status", "success"
+            );
+            
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = Map.of(
+                "error", e.getMessage(),
+                "status", "error"
+            );
+            
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+    
+
+    @GetMapping("/tree")
+    public ResponseEntity<Map<String, Object>> listResourceTree(
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) Integer depth,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            ResourceTreePage page = resourceService.listTree(prefix, depth, cursor, limit);
+            
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("prefix", prefix != null ? prefix : "");
+            response.put("nodes", page.getNodes());
+            response.put("total", page.getNodes().size());
+            response.put("has_more", page.hasMore());
+            if (page.hasMore()) {
+                response.put("next_cursor", page.getNextCursor());
+            }
+            response.put("status", "success");
+            
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = Map.of(
+                "error", e.getMessage(),
+                "status", "error"
+            );
+            
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
     }
     
 
@@ -91,20 +239,37 @@ public class ResourceController {
     }
     
 
+    @GetMapping("/query")
+    public ResponseEntity<Map<String, Object>> queryResources(@RequestParam Map<String, String> filters) {
+        try {
+            List<Resource> resources = resourceService.queryResources(filters);
+            
+            Map<String, Object> response = Map.of(
+                "resources", resources,
+                "filters", filters,
+                "total", resources.size(),
+                "status", "success"
+            );
+            
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = Map.of(
+                "error", e.getMessage(),
+                "status", "error"
+            );
+            
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+    
+
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getResourceStats() {
         List<Resource> allResources = resourceService.getAllResources();
         
-
-        Map<String, Long> mimeTypeCount = allResources.stream()
-                .collect(java.util.stream.Collectors.groupingBy(
-                    Resource::getMimeType,
-                    java.util.stream.Collectors.counting()
-                ));
-        
         Map<String, Object> response = Map.of(
             "total_resources", allResources.size(),
-            "mime_type_distribution", mimeTypeCount,
+            "mime_type_distribution", resourceService.getMimeTypeDistribution(),
             "available_uris", allResources.stream()
                     .map(Resource::getUri)
                     .toList(),
@@ -189,22 +354,25 @@ public class ResourceController {
 
     @GetMapping("/info")
     public ResponseEntity<Map<String, Object>> getResourceInfo() {
+        Map<String, String> endpoints = new HashMap<>();
+        endpoints.put("GET /api/resources", "Lista todos os resources (?view=descriptor para descritores paginados, sem conteúdo)");
+        endpoints.put("POST /api/resources", "Cria um novo resource");
+        endpoints.put("PUT /api/resources/{uri}", "Atualiza um resource existente");
+        endpoints.put("DELETE /api/resources/{uri}", "Deleta um resource");
+        endpoints.put("GET /api/resources/by-uri", "Busca resource por URI");
+        endpoints.put("GET /api/resources/by-mime-type", "Busca resources por tipo MIME");
+        endpoints.put("GET /api/resources/search", "Busca resources por nome");
+        endpoints.put("GET /api/resources/query", "Filtra resources por tipo MIME e metadata indexada");
+        endpoints.put("GET /api/resources/tree", "Lista a árvore de URIs por prefixo, com limite de profundidade e cursor");
+        endpoints.put("GET /api/resources/exists", "Verifica se resource existe");
+        endpoints.put("GET /api/resources/stats", "Estatísticas dos resources");
+        endpoints.put("GET /api/resources/info", "Informações da API");
+        
         Map<String, Object> info = Map.of(
             "api_name", "Resources API",
             "version", "1.0.0",
             "description", "API para gerenciamento de resources do MCP Server",
-            "endpoints", Map.of(
-                "GET /api/resources", "Lista todos os resources",
-                "POST /api/resources", "Cria um novo resource",
-                "PUT /api/resources/{uri}", "Atualiza um resource existente",
-                "DELETE /api/resources/{uri}", "Deleta um resource",
-                "GET /api/resources/by-uri", "Busca resource por URI",
-                "GET /api/resources/by-mime-type", "Busca resources por tipo MIME",
-                "GET /api/resources/search", "Busca resources por nome",
-                "GET /api/resources/exists", "Verifica se resource existe",
-                "GET /api/resources/stats", "Estatísticas dos resources",
-                "GET /api/resources/info", "Informações da API"
-            ),
+            "endpoints", endpoints,
             "white_label", Map.of(
                 "application_name", whiteLabelConfig.getName(),
                 "company_name", whiteLabelConfig.getCompany(),
@@ -1,16 +1,38 @@
 package com.example.mcp.controller;
 
+import com.example.mcp.config.ExecutionHistoryConfig;
 import com.example.mcp.config.WhiteLabelConfig;
+import com.example.mcp.model.BatchExecutionRequest;
+import com.example.mcp.model.BatchItemResult;
+import com.example.mcp.model.ExecutionPage;
+import com.example.mcp.model.ExecutionPriority;
+import com.example.mcp.model.ExecutionQuery;
 import com.example.mcp.model.Tool;
 import com.example.mcp.model.ToolExecution;
+import com.example.mcp.service.AdmissionControl;
+import com.example.mcp.service.BatchExecutionService;
+import com.example.mcp.service.ExecutionExporter;
+import com.example.mcp.service.ExecutionStats;
+import com.example.mcp.service.ExecutionStreamer;
 import com.example.mcp.service.ToolService;
+import com.example.mcp.validation.ArgumentValidationException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/tools")
@@ -20,9 +42,27 @@ public class ToolController {
     @Autowired
     private ToolService toolService;
     
+    @Autowired
+    private BatchExecutionService batchExecutionService;
+    
+    @Autowired
+    private ExecutionStats executionStats;
+    
+    @Autowired
+    private ExecutionExporter executionExporter;
+    
+    @Autowired
+    private AdmissionControl admissionControl;
+    
+    @Autowired
+    private ExecutionStreamer executionStreamer;
+    
     @Autowired
     private WhiteLabelConfig whiteLabelConfig;
     
+    @Autowired
+    private ExecutionHistoryConfig historyConfig;
+    
 
     @GetMapping
     public ResponseEntity<Map<String, Object>> getAllTools() {
@@ -43,6 +83,7 @@ public class ToolController {
         return toolService.getToolByName(name)
                 .map(tool -> ResponseEntity.ok(Map.of(
                     "tool", tool,
+                    "executable", toolService.isExecutable(name),
                     "status", "success"
                 )))
                 .orElse(ResponseEntity.notFound().build());
@@ -67,14 +108,37 @@ public class ToolController {
     @PostMapping("/{name}/execute")
     public ResponseEntity<Map<String, Object>> executeTool(
             @PathVariable String name,
-            @RequestBody Map<String, Object> arguments) {
+            @RequestBody Map<String, Object> arguments,
+            @RequestParam(required = false) String mode,
+            @RequestParam(name = "timeout_ms", required = false) Long timeoutMs,
+            @RequestParam(name = "priority", required = false) String priorityParam,
+            @RequestHeader(value = "X-Priority", required = false) String priorityHeader,
+            @RequestHeader(value = "Prefer", required = false) String prefer,
+            HttpServletRequest request) {
         
         if (!toolService.toolExists(name)) {
             return ResponseEntity.notFound().build();
         }
         
+        ExecutionPriority priority;
+        try {
+            priority = toolService.resolvePriority(name, requestedPriority(priorityParam, priorityHeader));
+        } catch (IllegalArgumentException e) {
+            return invalidPriority(name, e);
+        }
+        
+        ResponseEntity<Map<String, Object>> rejection = checkAdmission(name, priority, request);
+        if (rejection != null) {
+            return rejection;
+        }
+        
+        Duration timeout = timeoutMs != null ? Duration.ofMillis(timeoutMs) : null;
+        if (isAsyncRequested(mode, prefer)) {
+            return executeToolAsync(name, arguments, timeout, priority);
+        }
+        
         try {
-            ToolExecution execution = toolService.executeTool(name, arguments);
+            ToolExecution execution = toolService.executeTool(name, arguments, timeout);
             
             Map<String, Object> response = Map.of(
                 "execution", execution,
@@ -82,6 +146,8 @@ public class ToolController {
             );
             
             return ResponseEntity.ok(response);
+        } catch (ArgumentValidationException e) {
+            return invalidArguments(e);
         } catch (Exception e) {
             Map<String, Object> errorResponse = Map.of(
                 "error", e.getMessage(),
@@ -95,6 +161,250 @@ public class ToolController {
     }
     
 
+    @PostMapping("/{name}/execute/stream")
+    public ResponseEntity<SseEmitter> streamTool(
+            @PathVariable String name,
+            @RequestBody Map<String, Object> arguments,
+            @RequestParam(name = "timeout_ms", required = false) Long timeoutMs,
+            @RequestParam(name = "priority", required = false) String priorityParam,
+            @RequestHeader(value = "X-Priority", required = false) String priorityHeader,
+            HttpServletRequest request) {
+        
+        if (!toolService.toolExists(name)) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        ExecutionPriority priority;
+        try {
+            priority = toolService.resolvePriority(name, requestedPriority(priorityParam, priorityHeader));
+        } catch (IllegalArgumentException e) {
+            return asEventStream(invalidPriority(name, e));
+        }
+        
+        ResponseEntity<Map<String, Object>> rejection = checkAdmission(name, priority, request);
+        if (rejection != null) {
+            return asEventStream(rejection);
+        }
+        
+        try {
+            Duration timeout = timeoutMs != null ? Duration.ofMillis(timeoutMs) : null;
+            return ResponseEntity.ok()
+                    .header("Cache-Control", "no-cache")
+                    .header("X-Accel-Buffering", "no")
+                    .body(executionStreamer.stream(name, arguments, timeout, priority));
+        } catch (ArgumentValidationException e) {
+            return asEventStream(invalidArguments(e));
+        } catch (IllegalArgumentException e) {
+            return asEventStream(ResponseEntity.badRequest().body(Map.of(
+                "error", e.getMessage(),
+                "tool_name", name,
+                "status", "error"
+            )));
+        } catch (RejectedExecutionException e) {
+            return asEventStream(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
+                "error", "Fila de execução cheia, tente novamente mais tarde",
+                "tool_name", name,
+                "status", "error"
+            )));
+        }
+    }
+    
+    /**
+     * Converte uma resposta de erro em um stream com um único evento "error", mantendo status e headers.
+     */
+    private ResponseEntity<SseEmitter> asEventStream(ResponseEntity<Map<String, Object>> response) {
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .body(executionStreamer.error(response.getBody()));
+    }
+    
+    /**
+     * Prioridade pedida via {@code ?priority=} ou header {@code X-Priority}; {@code null} se nenhuma foi informada.
+     */
+    private static ExecutionPriority requestedPriority(String priorityParam, String priorityHeader) {
+        String value = priorityParam != null ? priorityParam : priorityHeader;
+        return value == null || value.isBlank() ? null : ExecutionPriority.parse(value);
+    }
+    
+    private ResponseEntity<Map<String, Object>> invalidPriority(String name, IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of(
+            "error", e.getMessage(),
+            "tool_name", name,
+            "status", "error"
+        ));
+    }
+    
+    /**
+     * Aplica o controle de admissão; retorna a resposta de rejeição ou {@code null} se a chamada foi admitida.
+     */
+    private ResponseEntity<Map<String, Object>> checkAdmission(String name, ExecutionPriority priority,
+                                                               HttpServletRequest request) {
+        AdmissionControl.Decision decision = admissionControl.admit(name, admissionControl.resolveClientKey(request), priority);
+        return decision.isAdmitted() ? null : rejected(name, decision);
+    }
+    
+    private ResponseEntity<Map<String, Object>> executeToolAsync(String name, Map<String, Object> arguments, Duration timeout,
+                                                                 ExecutionPriority priority) {
+        try {
+            ToolExecution execution = toolService.executeToolAsync(name, arguments, timeout, priority);
+            
+            Map<String, Object> response = Map.of(
+                "execution_id", execution.getExecutionId(),
+                "execution", execution,
+                "status", "accepted"
+            );
+            
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/tools/executions/" + execution.getExecutionId()))
+                    .header("Preference-Applied", "respond-async")
+                    .body(response);
+        } catch (ArgumentValidationException e) {
+            return invalidArguments(e);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = Map.of(
+                "error", e.getMessage(),
+                "tool_name", name,
+                "status", "error"
+            );
+            
+            return ResponseEntity.badRequest().body(errorResponse);
+        } catch (RejectedExecutionException e) {
+            Map<String, Object> errorResponse = Map.of(
+                "error", "Fila de execução cheia, tente novamente mais tarde",
+                "tool_name", name,
+                "status", "error"
+            );
+            
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+        }
+    }
+    
+    private ResponseEntity<Map<String, Object>> rejected(String name, AdmissionControl.Decision decision) {
+        String error;
+        if (decision.isShed()) {
+            error = "Servidor sobrecarregado, chamadas de baixa prioridade estão sendo descartadas";
+        } else if (decision.isClientLimited()) {
+            error = "Limite de requisições do cliente excedido";
+        } else {
+            error = "Limite de requisições excedido para a tool '" + name + "'";
+        }
+        Map<String, Object> errorResponse = new LinkedHashMap<>();
+        errorResponse.put("error", error);
+        errorResponse.put("tool_name", name);
+        if (decision.getLimitedBy() != null) {
+            errorResponse.put("limited_by", decision.getLimitedBy());
+        }
+        errorResponse.put("retry_after_seconds", decision.getRetryAfterSeconds());
+        errorResponse.put("status", "error");
+        
+        return ResponseEntity.status(decision.isShed() ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", String.valueOf(decision.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+    
+    private ResponseEntity<Map<String, Object>> rejectedBatch(AdmissionControl.Decision decision) {
+        String error;
+        if (decision.isShed()) {
+            error = "Servidor sobrecarregado, lotes de baixa prioridade estão sendo descartados";
+        } else if (decision.isClientLimited()) {
+            error = "Limite de requisições do cliente excedido";
+        } else {
+            error = "Limite de requisições excedido para uma das tools do lote";
+        }
+        Map<String, Object> errorResponse = new LinkedHashMap<>();
+        errorResponse.put("error", error);
+        if (decision.getLimitedBy() != null) {
+            errorResponse.put("limited_by", decision.getLimitedBy());
+        }
+        errorResponse.put("retry_after_seconds", decision.getRetryAfterSeconds());
+        errorResponse.put("status", "error");
+        
+        return ResponseEntity.status(decision.isShed() ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", String.valueOf(decision.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+    
+    private ResponseEntity<Map<String, Object>> invalidArguments(ArgumentValidationException e) {
+        Map<String, Object> errorResponse = Map.of(
+            "error", e.getMessage(),
+            "tool_name", e.getToolName(),
+            "violations", e.getViolations(),
+            "status", "error"
+        );
+        
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+    
+    private boolean isAsyncRequested(String mode, String prefer) {
+        return "async".equalsIgnoreCase(mode)
+                || (prefer != null && prefer.toLowerCase().contains("respond-async"));
+    }
+    
+
+    @PostMapping("/batch/execute")
+    public ResponseEntity<Map<String, Object>> executeBatch(
+            @RequestBody BatchExecutionRequest request,
+            @RequestParam(name = "priority", required = false) String priorityParam,
+            @RequestHeader(value = "X-Priority", required = false) String priorityHeader,
+            HttpServletRequest httpRequest) {
+        
+        List<String> toolNames;
+        ExecutionPriority priority;
+        try {
+            batchExecutionService.validate(request);
+            toolNames = request.getItems().stream().map(BatchExecutionRequest.Item::getTool).toList();
+            ExecutionPriority requested = requestedPriority(priorityParam, priorityHeader);
+            // Sem prioridade explícita, o lote vale pela tool mais prioritária que contém
+            priority = requested != null ? requested : toolNames.stream()
+                    .distinct()
+                    .map(name -> toolService.resolvePriority(name, null))
+                    .max(Comparator.naturalOrder())
+                    .orElse(ExecutionPriority.NORMAL);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", e.getMessage(),
+                "status", "error"
+            ));
+        }
+        
+        AdmissionControl.Decision decision = admissionControl.admitBatch(
+                toolNames, admissionControl.resolveClientKey(httpRequest), priority);
+        if (!decision.isAdmitted()) {
+            return rejectedBatch(decision);
+        }
+        
+        try {
+            long startedAt = System.nanoTime();
+            List<BatchItemResult> results = batchExecutionService.executeBatch(request);
+            long elapsedMs = java.util.concurrent.TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            
+            Map<String, Long> itemsByStatus = results.stream()
+                    .collect(java.util.stream.Collectors.groupingBy(
+                        BatchItemResult::getStatus,
+                        java.util.stream.Collectors.counting()
+                    ));
+            
+            Map<String, Object> response = Map.of(
+                "results", results,
+                "total", results.size(),
+                "items_by_status", itemsByStatus,
+                "mode", request.isFailFast() ? BatchExecutionRequest.MODE_FAIL_FAST : BatchExecutionRequest.MODE_BEST_EFFORT,
+                "batch_time_ms", elapsedMs,
+                "status", "success"
+            );
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = Map.of(
+                "error", e.getMessage(),
+                "status", "error"
+            );
+            
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+    
+
     @GetMapping("/executions/{executionId}")
     public ResponseEntity<Map<String, Object>> getExecution(@PathVariable String executionId) {
         return toolService.getExecution(executionId)
@@ -105,18 +415,139 @@ public class ToolController {
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    @DeleteMapping("/executions/{executionId}")
+    public ResponseEntity<Map<String, Object>> cancelExecution(@PathVariable String executionId) {
+        Optional<ToolExecution> execution = toolService.cancelExecution(executionId);
+        if (execution.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        if (!ToolExecution.STATUS_CANCELLED.equals(execution.get().getStatus())) {
+            Map<String, Object> errorResponse = Map.of(
+                "error", "Execução já finalizada com status '" + execution.get().getStatus() + "'",
+                "execution", execution.get(),
+                "status", "error"
+            );
+            
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+        }
+        
+        return ResponseEntity.ok(Map.of(
+            "execution", execution.get(),
+            "status", "success"
+        ));
+    }
+    
 
     @GetMapping("/executions")
-    public ResponseEntity<Map<String, Object>> getAllExecutions() {
-        List<ToolExecution> executions = toolService.getAllExecutions();
+    public ResponseEntity<Map<String, Object>> getAllExecutions(
+            @RequestParam(required = false) String tool,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Set<String> exclude) {
         
-        Map<String, Object> response = Map.of(
-            "executions", executions,
-            "total", executions.size(),
-            "status", "success"
-        );
+        int pageSize = limit != null && limit > 0
+                ? Math.min(limit, historyConfig.getMaxPageSize())
+                : historyConfig.getDefaultPageSize();
         
-        return ResponseEntity.ok(response);
+        try {
+            ExecutionPage page = toolService.queryExecutions(
+                new ExecutionQuery(tool, status, from, to, cursor, pageSize));
+            
+            Set<String> excluded = exclude != null ? exclude : Set.of();
+            List<Object> executions = excluded.isEmpty()
+                    ? new ArrayList<>(page.getExecutions())
+                    : page.getExecutions().stream()
+                            .map(execution -> (Object) project(execution, excluded))
+                            .toList();
+            
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("executions", executions);
+            response.put("total", executions.size());
+            response.put("has_more", page.hasMore());
+            if (page.hasMore()) {
+                response.put("next_cursor", page.getNextCursor());
+            }
+            response.put("status", "success");
+            
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = Map.of(
+                "error", e.getMessage(),
+                "status", "error"
+            );
+            
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+    
+    @GetMapping("/executions/export")
+    public void exportExecutions(
+            @RequestParam(required = false) String tool,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+        
+        if (after != null && !toolService.isValidExecutionId(after)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "ID de execução inválido: " + after);
+            return;
+        }
+        
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        if (gzip) {
+            response.setHeader("Content-Encoding", "gzip");
+        }
+        
+        ExecutionQuery query = new ExecutionQuery(tool, status, from, to, null, Integer.MAX_VALUE);
+        OutputStream out = response.getOutputStream();
+        if (gzip) {
+            try (GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024)) {
+                executionExporter.export(query, after, compressed);
+            }
+        } else {
+            executionExporter.export(query, after, out);
+            out.flush();
+        }
+    }
+    
+    private Map<String, Object> project(ToolExecution execution, Set<String> excluded) {
+        Map<String, Object> projected = new LinkedHashMap<>();
+        projected.put("execution_id", execution.getExecutionId());
+        projected.put("toolName", execution.getToolName());
+        projected.put("status", execution.getStatus());
+        if (!excluded.contains("arguments")) {
+            projected.put("arguments", execution.getArguments());
+        }
+        if (!excluded.contains("result") && execution.getResult() != null) {
+            projected.put("result", execution.getResult());
+        }
+        if (execution.getErrorMessage() != null) {
+            projected.put("errorMessage", execution.getErrorMessage());
+        }
+        projected.put("started_at", execution.getStartedAt());
+        if (execution.getRunStartedAt() != null) {
+            projected.put("run_started_at", execution.getRunStartedAt());
+        }
+        if (execution.getCompletedAt() != null) {
+            projected.put("completed_at", execution.getCompletedAt());
+        }
+        if (execution.getExecutionTimeMs() != null) {
+            projected.put("executionTimeMs", execution.getExecutionTimeMs());
+        }
+        if (execution.getCacheHit() != null) {
+            projected.put("cache_hit", execution.getCacheHit());
+        }
+        if (!excluded.contains("coalesced_with") && execution.getCoalescedWith() != null) {
+            projected.put("coalesced_with", execution.getCoalescedWith());
+        }
+        return projected;
     }
     
 
@@ -137,27 +568,15 @@ public class ToolController {
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getToolStats() {
         List<Tool> allTools = toolService.getAllTools();
-        List<ToolExecution> allExecutions = toolService.getAllExecutions();
-        
-
-        Map<String, Long> executionsByStatus = allExecutions.stream()
-                .collect(java.util.stream.Collectors.groupingBy(
-                    ToolExecution::getStatus,
-                    java.util.stream.Collectors.counting()
-                ));
-        
-
-        Map<String, Long> executionsByTool = allExecutions.stream()
-                .collect(java.util.stream.Collectors.groupingBy(
-                    ToolExecution::getToolName,
-                    java.util.stream.Collectors.counting()
-                ));
         
         Map<String, Object> response = Map.of(
             "total_tools", allTools.size(),
-            "total_executions", allExecutions.size(),
-            "executions_by_status", executionsByStatus,
-            "executions_by_tool", executionsByTool,
+            "total_executions", executionStats.getTotal(),
+            "retained_executions", toolService.getRetainedExecutionCount(),
+            "in_flight", executionStats.getInFlight(),
+            "executions_by_status", executionStats.getExecutionsByStatus(),
+            "executions_by_tool", executionStats.getExecutionsByTool(),
+            "rolling_windows", executionStats.getRollingWindows(),
             "available_tools", allTools.stream()
                     .map(Tool::getName)
                     .toList(),
@@ -249,9 +668,13 @@ public class ToolController {
         endpoints.put("DELETE /api/tools/{name}", "Deleta uma tool");
         endpoints.put("GET /api/tools/{name}", "Busca tool por nome");
         endpoints.put("GET /api/tools/by-capability", "Busca tools por capacidade");
-        endpoints.put("POST /api/tools/{name}/execute", "Executa uma tool");
+        endpoints.put("POST /api/tools/{name}/execute", "Executa uma tool (use ?mode=async ou Prefer: respond-async para execução assíncrona)");
+        endpoints.put("POST /api/tools/{name}/execute/stream", "Executa tool transmitindo progresso e resultado via Server-Sent Events");
+        endpoints.put("POST /api/tools/batch/execute", "Executa um lote de tools em paralelo");
         endpoints.put("GET /api/tools/executions/{id}", "Busca execução por ID");
-        endpoints.put("GET /api/tools/executions", "Lista todas as execuções");
+        endpoints.put("DELETE /api/tools/executions/{id}", "Cancela uma execução em andamento");
+        endpoints.put("GET /api/tools/executions", "Lista execuções com paginação por cursor e filtros (tool, status, from, to, exclude)");
+        endpoints.put("GET /api/tools/executions/export", "Exporta execuções em NDJSON via streaming (filtros, gzip e retomada por after)");
         endpoints.put("GET /api/tools/exists/{name}", "Verifica se tool existe");
         endpoints.put("GET /api/tools/stats", "Estatísticas das tools");
         endpoints.put("GET /api/tools/info", "Informações da API");
@@ -0,0 +1,156 @@
+package com.example.mcp.executor;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class CalculatorExecutor implements ToolExecutor {
+    
+    public static final int MAX_VECTOR_LENGTH = 100_000;
+    
+    private static final ExecutionTraits TRAITS = ExecutionTraits.pureFunction();
+    
+    @Override
+    public String getToolName() {
+        return "calculator";
+    }
+    
+    @Override
+    public ExecutionTraits getTraits() {
+        return TRAITS;
+    }
+    
+    @Override
+    public Object execute(Map<String, Object> args) {
+        String operation = (String) args.get("operation");
+        Object left = args.get("a");
+        Object right = args.get("b");
+        
+        if (!(left instanceof Number) || !(right instanceof Number)) {
+            return executeVector(operation, left, right);
+        }
+        
+        double a = ((Number) left).doubleValue();
+        double b = ((Number) right).doubleValue();
+        
+        double result = switch (operation) {
+            case "add" -> a + b;
+            case "subtract" -> a - b;
+            case "multiply" -> a * b;
+            case "divide" -> {
+                if (b == 0) throw new IllegalArgumentException("Divisão por zero não permitida");
+                yield a / b;
+            }
+            default -> throw new IllegalArgumentException("Operação inválida: " + operation);
+        };
+        
+        return Map.of(
+            "result", result,
+            "operation", operation,
+            "operands", Arrays.asList(a, b)
+        );
+    }
+    
+    /**
+     * Operação elemento a elemento sobre vetores; um operando escalar é aplicado a todos os elementos do outro.
+     * Os laços trabalham sobre double[] sem desvios, o que permite ao JIT vetorizá-los (SIMD).
+     */
+    private static Map<String, Object> executeVector(String operation, Object left, Object right) {
+        double[] a = toArray(left, "a");
+        double[] b = toArray(right, "b");
+        
+        int length = a != null ? a.length : b.length;
+        if (a != null && b != null && a.length != b.length) {
+            throw new IllegalArgumentException("Os vetores 'a' e 'b' devem ter o mesmo tamanho ("
+                    + a.length + " e " + b.length + ")");
+        }
+        if (a == null) {
+            a = broadcast(left, length);
+        }
+        if (b == null) {
+            b = broadcast(right, length);
+        }
+        
+        double[] result = new double[length];
+        switch (operation) {
+            case "add" -> {
+                for (int i = 0; i < length; i++) {
+                    result[i] = a[i] + b[i];
+                }
+            }
+            case "subtract" -> {
+                for (int i = 0; i < length; i++) {
+                    result[i] = a[i] - b[i];
+                }
+            }
+            case "multiply" -> {
+                for (int i = 0; i < length; i++) {
+                    result[i] = a[i] * b[i];
+                }
+            }
+            case "divide" -> {
+                int zero = indexOfZero(b);
+                if (zero >= 0) {
+                    throw new IllegalArgumentException("Divisão por zero não permitida (b[" + zero + "])");
+                }
+                for (int i = 0; i < length; i++) {
+                    result[i] = a[i] / b[i];
+                }
+            }
+            default -> throw new IllegalArgumentException("Operação inválida: " + operation);
+        }
+        
+        return Map.of(
+            "result", result,
+            "operation", operation,
+            "count", length
+        );
+    }
+    
+    private static double[] toArray(Object value, String name) {
+        if (value instanceof Number) {
+            return null;
+        }
+        if (value instanceof double[] values) {
+            checkLength(values.length, name);
+            return values;
+        }
+        if (!(value instanceof List<?> list)) {
+            throw new IllegalArgumentException("O operando '" + name + "' deve ser um número ou uma lista de números");
+        }
+        
+        checkLength(list.size(), name);
+        double[] values = new double[list.size()];
+        for (int i = 0; i < values.length; i++) {
+            if (!(list.get(i) instanceof Number number)) {
+                throw new IllegalArgumentException("O elemento " + name + "[" + i + "] deve ser numérico");
+            }
+            values[i] = number.doubleValue();
+        }
+        return values;
+    }
+    
+    private static void checkLength(int length, String name) {
+        if (length > MAX_VECTOR_LENGTH) {
+            throw new IllegalArgumentException("O vetor '" + name + "' excede o limite de " + MAX_VECTOR_LENGTH + " elementos");
+        }
+    }
+    
+    private static double[] broadcast(Object scalar, int length) {
+        double[] values = new double[length];
+        Arrays.fill(values, ((Number) scalar).doubleValue());
+        return values;
+    }
+    
+    private static int indexOfZero(double[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
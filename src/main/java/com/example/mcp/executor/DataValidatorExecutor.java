@@ -0,0 +1,46 @@
+package com.example.mcp.executor;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+public class DataValidatorExecutor implements ToolExecutor {
+    
+    private static final ExecutionTraits TRAITS = ExecutionTraits.pureFunction();
+    
+    @Override
+    public String getToolName() {
+        return "data_validator";
+    }
+    
+    @Override
+    public ExecutionTraits getTraits() {
+        return TRAITS;
+    }
+    
+    @Override
+    public Object execute(Map<String, Object> args) {
+        String dataType = (String) args.get("data_type");
+        String value = (String) args.get("value");
+        
+        if (value == null) {
+            throw new IllegalArgumentException("Valor a ser validado é obrigatório");
+        }
+        
+        boolean isValid = switch (dataType) {
+            case "email" -> DataValidators.isValidEmail(value);
+            case "cpf" -> DataValidators.isValidCpf(value);
+            case "phone" -> DataValidators.isValidPhone(value);
+            case "url" -> DataValidators.isValidUrl(value);
+            default -> throw new IllegalArgumentException("Tipo de dado inválido: " + dataType);
+        };
+        
+        return Map.of(
+            "valid", isValid,
+            "data_type", dataType,
+            "value", value,
+            "message", isValid ? "Valor válido" : "Valor inválido para o tipo " + dataType
+        );
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.mcp.executor;
+
+import java.util.regex.Pattern;
+
+public final class DataValidators {
+
+    private static final Pattern EMAIL = Pattern.compile("[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}");
+    private static final Pattern URL = Pattern.compile("https?://[A-Za-z0-9.-]+\\.[A-Za-z]{2,}(/.*)?");
+
+    private static final int CPF_LENGTH = 11;
+    private static final int CPF_FORMATTED_LENGTH = 14;
+
+    private DataValidators() {
+    }
+
+    public static boolean isValidEmail(String value) {
+        return EMAIL.matcher(value).matches();
+    }
+
+    public static boolean isValidUrl(String value) {
+        return URL.matcher(value).matches();
+    }
+
+    public static boolean isValidCpf(String value) {
+        boolean formatted;
+        if (value.length() == CPF_LENGTH) {
+            formatted = false;
+        } else if (value.length() == CPF_FORMATTED_LENGTH
+                && value.charAt(3) == '.' && value.charAt(7) == '.' && value.charAt(11) == '-') {
+            formatted = true;
+        } else {
+            return false;
+        }
+
+        int firstSum = 0;
+        int secondSum = 0;
+        boolean allEqual = true;
+        int first = cpfDigit(value, 0, formatted);
+
+        for (int k = 0; k < CPF_LENGTH; k++) {
+            int digit = cpfDigit(value, k, formatted);
+            if (digit < 0) {
+                return false;
+            }
+            allEqual &= digit == first;
+            if (k < 9) {
+                firstSum += digit * (10 - k);
+            }
+            if (k < 10) {
+                secondSum += digit * (11 - k);
+            }
+        }
+
+        // CPFs com todos os dígitos iguais passam no cálculo, mas são inválidos
+        if (allEqual) {
+            return false;
+        }
+
+        return checkDigit(firstSum) == cpfDigit(value, 9, formatted)
+                && checkDigit(secondSum) == cpfDigit(value, 10, formatted);
+    }
+
+    public static boolean isValidPhone(String value) {
+        int length = value.length();
+        int i = 0;
+
+        if (i < length && value.charAt(i) == '(') {
+            i++;
+        }
+
+        int areaCodeEnd = i + 2;
+        for (; i < areaCodeEnd; i++) {
+            if (i >= length || !isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+
+        if (i < length && value.charAt(i) == ')') {
+            i++;
+        }
+
+        if (i < length && isWhitespace(value.charAt(i))) {
+            i++;
+        }
+
+        int prefixStart = i;
+        while (i < length && isDigit(value.charAt(i))) {
+            i++;
+        }
+        int prefixDigits = i - prefixStart;
+
+        if (i == length) {
+            return prefixDigits == 8 || prefixDigits == 9;
+        }
+
+        if (value.charAt(i) != '-' || prefixDigits < 4 || prefixDigits > 5) {
+            return false;
+        }
+        i++;
+
+        int suffixStart = i;
+        while (i < length && isDigit(value.charAt(i))) {
+            i++;
+        }
+        return i == length && i - suffixStart == 4;
+    }
+
+    private static int cpfDigit(String value, int index, boolean formatted) {
+        // No formato 000.000.000-00 cada grupo de três dígitos desloca a posição em um separador
+        char c = value.charAt(formatted ? index + Math.min(index / 3, 3) : index);
+        return isDigit(c) ? c - '0' : -1;
+    }
+
+    private static int checkDigit(int sum) {
+        int remainder = (sum * 10) % 11;
+        return remainder == 10 ? 0 : remainder;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.mcp.executor;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Prazo, sinal de cancelamento e canal de resultados parciais de uma execução, repassados ao {@link ToolExecutor}.
+ *
+ * O cancelamento é cooperativo: a thread da execução também é interrompida, mas executores
+ * com laços longos devem consultar {@link #throwIfCancelled()} periodicamente.
+ */
+public final class ExecutionContext {
+    
+    private final String executionId;
+    private final long deadlineNanos;
+    private final ExecutionListener listener;
+    private volatile boolean cancelled;
+    
+    public ExecutionContext(String executionId, Duration timeout) {
+        this(executionId, timeout, ExecutionListener.NONE);
+    }
+    
+    public ExecutionContext(String executionId, Duration timeout, ExecutionListener listener) {
+        this.executionId = executionId;
+        this.deadlineNanos = System.nanoTime() + timeout.toNanos();
+        this.listener = listener != null ? listener : ExecutionListener.NONE;
+    }
+    
+    public String getExecutionId() {
+        return executionId;
+    }
+    
+    public boolean isCancelled() {
+        return cancelled || System.nanoTime() - deadlineNanos >= 0;
+    }
+    
+    public Duration getRemaining() {
+        return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+    }
+    
+    public void throwIfCancelled() {
+        if (isCancelled()) {
+            throw new CancellationException("Execução " + executionId + " cancelada ou com prazo excedido");
+        }
+    }
+    
+    /**
+     * Publica um resultado parcial. Pode esperar brevemente quando o buffer do consumidor está cheio;
+     * se o cliente não acompanha, o stream é encerrado e a execução cancelada.
+     */
+    public void emit(Object chunk) {
+        throwIfCancelled();
+        listener.onChunk(chunk);
+    }
+    
+    public void reportProgress(double progress, String message) {
+        if (!isCancelled()) {
+            listener.onProgress(Math.max(0, Math.min(1, progress)), message);
+        }
+    }
+    
+    public ExecutionListener getListener() {
+        return listener;
+    }
+    
+    public void cancel() {
+        this.cancelled = true;
+    }
+}
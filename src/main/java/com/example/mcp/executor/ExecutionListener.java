@@ -0,0 +1,24 @@
+package com.example.mcp.executor;
+
+import com.example.mcp.model.ToolExecution;
+
+/**
+ * Recebe o progresso e os resultados parciais de uma execução à medida que o executor os produz.
+ */
+public interface ExecutionListener {
+    
+    ExecutionListener NONE = new ExecutionListener() {
+    };
+    
+    default void onProgress(double progress, String message) {
+    }
+    
+    default void onChunk(Object chunk) {
+    }
+    
+    /**
+     * Chamado uma única vez, quando a execução alcança um status final.
+     */
+    default void onFinished(ToolExecution execution) {
+    }
+}
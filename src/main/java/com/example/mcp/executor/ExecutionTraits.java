@@ -0,0 +1,46 @@
+package com.example.mcp.executor;
+
+public final class ExecutionTraits {
+    
+    public static final int UNLIMITED_CONCURRENCY = 0;
+    
+    /** Executores sem declaração explícita são tratados como bloqueantes e não determinísticos. */
+    public static final ExecutionTraits DEFAULT = new ExecutionTraits(false, true, UNLIMITED_CONCURRENCY);
+    
+    private final boolean deterministic;
+    private final boolean blocking;
+    private final int maxConcurrency;
+    
+    public ExecutionTraits(boolean deterministic, boolean blocking, int maxConcurrency) {
+        if (maxConcurrency < 0) {
+            throw new IllegalArgumentException("maxConcurrency não pode ser negativo");
+        }
+        this.deterministic = deterministic;
+        this.blocking = blocking;
+        this.maxConcurrency = maxConcurrency;
+    }
+    
+    public static ExecutionTraits pureFunction() {
+        return new ExecutionTraits(true, false, UNLIMITED_CONCURRENCY);
+    }
+    
+    public static ExecutionTraits cpuBound() {
+        return new ExecutionTraits(false, false, UNLIMITED_CONCURRENCY);
+    }
+    
+    public boolean isDeterministic() {
+        return deterministic;
+    }
+    
+    public boolean isBlocking() {
+        return blocking;
+    }
+    
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+    
+    public boolean hasConcurrencyLimit() {
+        return maxConcurrency != UNLIMITED_CONCURRENCY;
+    }
+}
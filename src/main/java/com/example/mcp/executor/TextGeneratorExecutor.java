@@ -0,0 +1,54 @@
+package com.example.mcp.executor;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+public class TextGeneratorExecutor implements ToolExecutor {
+    
+    private static final ExecutionTraits TRAITS = ExecutionTraits.cpuBound();
+    
+    private final TextTemplateEngine templateEngine;
+    
+    public TextGeneratorExecutor(TextTemplateEngine templateEngine) {
+        this.templateEngine = templateEngine;
+    }
+    
+    @Override
+    public String getToolName() {
+        return "text_generator";
+    }
+    
+    @Override
+    public ExecutionTraits getTraits() {
+        return TRAITS;
+    }
+    
+    @Override
+    public Object execute(Map<String, Object> args) {
+        return execute(args, null);
+    }
+    
+    @Override
+    public Object execute(Map<String, Object> args, ExecutionContext context) {
+        String template = (String) args.get("template");
+        String name = (String) args.get("name");
+        String language = (String) args.getOrDefault("language", templateEngine.getDefaultLanguage());
+        // Só publica linhas quando alguém acompanha a execução via streaming
+        TextTemplate.LineSink lines = context != null && context.getListener() != ExecutionListener.NONE
+                ? (line, progress) -> {
+                    context.emit(line);
+                    context.reportProgress(progress, null);
+                }
+                : null;
+        String text = templateEngine.render(template, language, args, lines);
+        
+        return Map.of(
+            "text", text,
+            "template", template,
+            "language", language,
+            "name", name
+        );
+    }
+}
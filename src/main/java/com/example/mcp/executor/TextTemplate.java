@@ -0,0 +1,120 @@
+package com.example.mcp.executor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Template compilado em segmentos: literais intercalados com placeholders {@code {nome}}.
+ * {@code literals} tem sempre um elemento a mais que {@code slots}.
+ */
+public final class TextTemplate {
+    
+    public static final String DATE_SLOT = "date";
+    
+    private final String[] literals;
+    private final String[] slots;
+    private final boolean usesDate;
+    
+    private TextTemplate(String[] literals, String[] slots) {
+        this.literals = literals;
+        this.slots = slots;
+        this.usesDate = List.of(slots).contains(DATE_SLOT);
+    }
+    
+    public static TextTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        
+        int i = 0;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            int end = c == '{' ? placeholderEnd(source, i) : -1;
+            if (end < 0) {
+                literal.append(c);
+                i++;
+                continue;
+            }
+            literals.add(literal.toString());
+            literal.setLength(0);
+            slots.add(source.substring(i + 1, end));
+            i = end + 1;
+        }
+        literals.add(literal.toString());
+        
+        return new TextTemplate(literals.toArray(new String[0]), slots.toArray(new String[0]));
+    }
+    
+    public boolean usesDate() {
+        return usesDate;
+    }
+    
+    /**
+     * Escreve o texto em {@code out}. Placeholders são preenchidos com os argumentos da execução
+     * ({@code date} com a data já formatada); placeholders sem valor ficam vazios.
+     */
+    public void renderTo(StringBuilder out, Map<String, Object> arguments, String date) {
+        renderTo(out, arguments, date, null);
+    }
+    
+    /**
+     * Como {@link #renderTo(StringBuilder, Map, String)}, entregando a {@code lines} cada linha (com o
+     * {@code '\n'} final) assim que ela fica completa em {@code out}, e o restante ao final.
+     */
+    public void renderTo(StringBuilder out, Map<String, Object> arguments, String date, LineSink lines) {
+        int start = out.length();
+        int lineStart = start;
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]);
+            Object value = DATE_SLOT.equals(slots[i]) ? date : arguments.get(slots[i]);
+            if (value != null) {
+                out.append(value);
+            }
+            if (lines != null) {
+                lineStart = flushLines(out, lineStart, lines, (double) (i + 1) / (slots.length + 1));
+            }
+        }
+        out.append(literals[slots.length]);
+        if (lines != null) {
+            lineStart = flushLines(out, lineStart, lines, 1);
+            if (lineStart < out.length()) {
+                lines.line(out.substring(lineStart), 1);
+            }
+        }
+    }
+    
+    private static int flushLines(StringBuilder out, int lineStart, LineSink lines, double progress) {
+        int newline;
+        while ((newline = out.indexOf("\n", lineStart)) >= 0) {
+            lines.line(out.substring(lineStart, newline + 1), progress);
+            lineStart = newline + 1;
+        }
+        return lineStart;
+    }
+    
+    /**
+     * Recebe as linhas de uma renderização à medida que são produzidas; {@code progress} é a fração
+     * dos segmentos do template já escritos.
+     */
+    @FunctionalInterface
+    public interface LineSink {
+        void line(String line, double progress);
+    }
+    
+    // Placeholder válido: '{' seguido de letras, dígitos ou '_' e '}'; qualquer outra coisa é literal
+    private static int placeholderEnd(String source, int start) {
+        int i = start + 1;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            if (c == '}') {
+                return i > start + 1 ? i : -1;
+            }
+            if (!Character.isLetterOrDigit(c) && c != '_') {
+                return -1;
+            }
+            i++;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.mcp.executor;
+
+import com.example.mcp.config.TextTemplateConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Templates do text_generator, carregados na inicialização de {@code classpath:text-templates/<idioma>.properties}
+ * e, opcionalmente, de um diretório externo com arquivos de mesmo nome, que acrescentam ou sobrescrevem templates.
+ *
+ * Cada chave é o nome de um template; a chave reservada {@code _date_pattern} define o formato de {@code {date}}.
+ */
+@Component
+public class TextTemplateEngine {
+    
+    private static final Logger log = LoggerFactory.getLogger(TextTemplateEngine.class);
+    
+    private static final String CLASSPATH_PATTERN = "classpath*:text-templates/*.properties";
+    private static final String FILE_SUFFIX = ".properties";
+    private static final String DATE_PATTERN_KEY = "_date_pattern";
+    private static final int MAX_RETAINED_BUFFER = 8 * 1024;
+    
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+    
+    private final String defaultLanguage;
+    private final Map<String, Language> languages;
+    private final SortedSet<String> templateNames;
+    
+    public TextTemplateEngine(TextTemplateConfig config) throws IOException {
+        Map<String, Properties> sources = new TreeMap<>();
+        
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(CLASSPATH_PATTERN)) {
+            try (InputStream in = resource.getInputStream()) {
+                load(sources, resource.getFilename(), in);
+            }
+        }
+        if (config.getTemplateDirectory() != null && !config.getTemplateDirectory().isBlank()) {
+            Path directory = Paths.get(config.getTemplateDirectory());
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.filter(path -> path.toString().endsWith(FILE_SUFFIX)).sorted().toList()) {
+                    try (InputStream in = Files.newInputStream(file)) {
+                        load(sources, file.getFileName().toString(), in);
+                    }
+                }
+            }
+        }
+        
+        Map<String, Language> compiled = new HashMap<>();
+        SortedSet<String> names = new TreeSet<>();
+        sources.forEach((code, properties) -> {
+            Language language = Language.compile(code, properties);
+            compiled.put(code, language);
+            names.addAll(language.templates.keySet());
+        });
+        
+        if (!compiled.containsKey(config.getDefaultLanguage())) {
+            throw new IllegalStateException("Idioma padrão '" + config.getDefaultLanguage()
+                    + "' sem templates em text-templates");
+        }
+        
+        this.defaultLanguage = config.getDefaultLanguage();
+        this.languages = Map.copyOf(compiled);
+        this.templateNames = Collections.unmodifiableSortedSet(names);
+        log.info("Templates de texto carregados: {} template(s) em {} idioma(s)", names.size(), compiled.size());
+    }
+    
+    private static void load(Map<String, Properties> sources, String fileName, InputStream in) throws IOException {
+        String code = fileName.substring(0, fileName.length() - FILE_SUFFIX.length());
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            sources.computeIfAbsent(code, key -> new Properties()).load(reader);
+        }
+    }
+    
+    public String getDefaultLanguage() {
+        return defaultLanguage;
+    }
+    
+    public SortedSet<String> getTemplateNames() {
+        return templateNames;
+    }
+    
+    public SortedSet<String> getLanguages() {
+        return new TreeSet<>(languages.keySet());
+    }
+    
+    /**
+     * Renderiza o template no idioma pedido; idiomas desconhecidos, ou sem esse template, usam o idioma padrão.
+     */
+    public String render(String templateName, String languageCode, Map<String, Object> arguments) {
+        return render(templateName, languageCode, arguments, null);
+    }
+    
+    /**
+     * Como {@link #render(String, String, Map)}, entregando cada linha a {@code lines} durante a renderização.
+     */
+    public String render(String templateName, String languageCode, Map<String, Object> arguments,
+                         TextTemplate.LineSink lines) {
+        Language language = languages.getOrDefault(languageCode, languages.get(defaultLanguage));
+        TextTemplate template = language.templates.get(templateName);
+        if (template == null) {
+            language = languages.get(defaultLanguage);
+            template = language.templates.get(templateName);
+        }
+        if (template == null) {
+            throw new IllegalArgumentException("Template inválido: " + templateName);
+        }
+        
+        String date = template.usesDate() ? language.dateFormatter.format(ZonedDateTime.now()) : null;
+        
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        template.renderTo(out, arguments, date, lines);
+        String text = out.toString();
+        
+        // Não retém buffers grandes produzidos por renderizações atípicas
+        if (out.capacity() > MAX_RETAINED_BUFFER) {
+            BUFFER.remove();
+        }
+        return text;
+    }
+    
+    private static final class Language {
+        
+        private final Map<String, TextTemplate> templates;
+        private final DateTimeFormatter dateFormatter;
+        
+        private Language(Map<String, TextTemplate> templates, DateTimeFormatter dateFormatter) {
+            this.templates = templates;
+            this.dateFormatter = dateFormatter;
+        }
+        
+        private static Language compile(String code, Properties properties) {
+            Locale locale = Locale.forLanguageTag(code);
+            String pattern = properties.getProperty(DATE_PATTERN_KEY);
+            DateTimeFormatter formatter = pattern != null
+                    ? DateTimeFormatter.ofPattern(pattern, locale)
+                    : DateTimeFormatter.ofLocalizedDateTime(FormatStyle.MEDIUM).withLocale(locale);
+            
+            Map<String, TextTemplate> templates = new HashMap<>();
+            for (String name : properties.stringPropertyNames()) {
+                if (!name.startsWith("_")) {
+                    templates.put(name, TextTemplate.compile(properties.getProperty(name)));
+                }
+            }
+            return new Language(Map.copyOf(templates), formatter);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.mcp.executor;
+
+import java.util.Map;
+
+/**
+ * Implementação da execução de uma tool.
+ *
+ * Executores são descobertos como beans do Spring ou via {@link java.util.ServiceLoader}
+ * (META-INF/services/com.example.mcp.executor.ToolExecutor) e resolvidos pelo nome da tool.
+ */
+public interface ToolExecutor {
+    
+    String getToolName();
+    
+    Object execute(Map<String, Object> arguments) throws Exception;
+    
+    /**
+     * Executa respeitando o prazo e o cancelamento da execução. Executores que fazem trabalho longo
+     * ou bloqueante devem sobrescrever este método e consultar o contexto.
+     */
+    default Object execute(Map<String, Object> arguments, ExecutionContext context) throws Exception {
+        return execute(arguments);
+    }
+    
+    default ExecutionTraits getTraits() {
+        return ExecutionTraits.DEFAULT;
+    }
+}
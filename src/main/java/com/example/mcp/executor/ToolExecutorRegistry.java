@@ -0,0 +1,113 @@
+package com.example.mcp.executor;
+
+import com.example.mcp.model.Tool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class ToolExecutorRegistry {
+
+    public static final String EXECUTOR_METADATA_KEY = "executor";
+
+    private static final Logger log = LoggerFactory.getLogger(ToolExecutorRegistry.class);
+
+    private final Map<String, Registration> registrations = new ConcurrentHashMap<>();
+
+    public ToolExecutorRegistry(List<ToolExecutor> springExecutors) {
+        for (ToolExecutor executor : springExecutors) {
+            Registration previous = registrations.putIfAbsent(executor.getToolName(), new Registration(executor));
+            if (previous != null) {
+                throw new IllegalStateException("Mais de um executor registrado para a tool '" + executor.getToolName() + "'");
+            }
+        }
+
+        for (ToolExecutor executor : ServiceLoader.load(ToolExecutor.class)) {
+            if (registrations.putIfAbsent(executor.getToolName(), new Registration(executor)) != null) {
+                log.warn("Executor {} ignorado: a tool '{}' já possui executor registrado",
+                        executor.getClass().getName(), executor.getToolName());
+            }
+        }
+    }
+
+    public void register(ToolExecutor executor) {
+        registrations.put(executor.getToolName(), new Registration(executor));
+    }
+
+    public boolean unregister(String executorName) {
+        return registrations.remove(executorName) != null;
+    }
+
+    public Optional<Registration> find(String executorName) {
+        return Optional.ofNullable(registrations.get(executorName));
+    }
+
+    /**
+     * Resolve o executor de uma tool: o nome indicado em metadata.executor, se houver,
+     * ou o próprio nome da tool.
+     */
+    public Optional<Registration> resolve(Tool tool) {
+        return find(executorNameOf(tool));
+    }
+
+    public boolean isExecutable(Tool tool) {
+        return registrations.containsKey(executorNameOf(tool));
+    }
+
+    public Set<String> getExecutorNames() {
+        return Collections.unmodifiableSet(registrations.keySet());
+    }
+
+    private static String executorNameOf(Tool tool) {
+        if (tool.getMetadata() != null && tool.getMetadata().get(EXECUTOR_METADATA_KEY) instanceof String executorName) {
+            return executorName;
+        }
+        return tool.getName();
+    }
+
+    public static final class Registration {
+
+        private final ToolExecutor executor;
+        private final ExecutionTraits traits;
+        private final Semaphore bulkhead;
+
+        private Registration(ToolExecutor executor) {
+            this.executor = executor;
+            this.traits = executor.getTraits() != null ? executor.getTraits() : ExecutionTraits.DEFAULT;
+            this.bulkhead = traits.hasConcurrencyLimit() ? new Semaphore(traits.getMaxConcurrency()) : null;
+        }
+
+        public ToolExecutor getExecutor() {
+            return executor;
+        }
+
+        public ExecutionTraits getTraits() {
+            return traits;
+        }
+
+        public Object execute(Map<String, Object> arguments, Duration bulkheadTimeout, ExecutionContext context) throws Exception {
+            if (bulkhead == null) {
+                return executor.execute(arguments, context);
+            }
+
+            // A espera por uma vaga no bulkhead não pode ultrapassar o prazo da execução
+            long waitMillis = Math.min(bulkheadTimeout.toMillis(), context.getRemaining().toMillis());
+            if (!bulkhead.tryAcquire(waitMillis, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Limite de execuções simultâneas atingido para a tool '"
+                        + executor.getToolName() + "'");
+            }
+
+            try {
+                return executor.execute(arguments, context);
+            } finally {
+                bulkhead.release();
+            }
+        }
+    }
+}
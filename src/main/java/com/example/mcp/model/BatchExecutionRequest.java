@@ -0,0 +1,75 @@
+package com.example.mcp.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+import java.util.Map;
+
+public class BatchExecutionRequest {
+    
+    public static final String MODE_BEST_EFFORT = "best_effort";
+    public static final String MODE_FAIL_FAST = "fail_fast";
+    
+    @NotEmpty
+    private List<Item> items;
+    
+    private String mode = MODE_BEST_EFFORT;
+    
+    @JsonProperty("max_parallelism")
+    private Integer maxParallelism;
+    
+
+    public List<Item> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+    
+    public String getMode() {
+        return mode;
+    }
+    
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+    
+    public Integer getMaxParallelism() {
+        return maxParallelism;
+    }
+    
+    public void setMaxParallelism(Integer maxParallelism) {
+        this.maxParallelism = maxParallelism;
+    }
+    
+    public boolean isFailFast() {
+        return MODE_FAIL_FAST.equalsIgnoreCase(mode);
+    }
+    
+    public static class Item {
+        
+        @NotBlank
+        private String tool;
+        
+        private Map<String, Object> arguments;
+        
+        public String getTool() {
+            return tool;
+        }
+        
+        public void setTool(String tool) {
+            this.tool = tool;
+        }
+        
+        public Map<String, Object> getArguments() {
+            return arguments;
+        }
+        
+        public void setArguments(Map<String, Object> arguments) {
+            this.arguments = arguments;
+        }
+    }
+}
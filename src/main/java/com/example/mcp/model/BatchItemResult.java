@@ -0,0 +1,116 @@
+package com.example.mcp.model;
+
+import com.example.mcp.validation.SchemaViolation;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public class BatchItemResult {
+    
+    public static final String STATUS_SKIPPED = "skipped";
+    public static final String STATUS_INVALID = "invalid";
+    
+    private int index;
+    
+    private String tool;
+    
+    private String status;
+    
+    private ToolExecution execution;
+    
+    @JsonProperty("execution_time_ms")
+    private Long executionTimeMs;
+    
+    private List<SchemaViolation> violations;
+    
+    private String error;
+    
+
+    public BatchItemResult() {
+    }
+    
+    public BatchItemResult(int index, String tool) {
+        this.index = index;
+        this.tool = tool;
+        this.status = STATUS_SKIPPED;
+    }
+    
+
+    public void complete(ToolExecution execution) {
+        this.execution = execution;
+        this.status = execution.getStatus();
+        this.executionTimeMs = execution.getExecutionTimeMs();
+    }
+    
+
+    public void reject(List<SchemaViolation> violations) {
+        this.violations = violations;
+        this.status = STATUS_INVALID;
+    }
+    
+    public void fail(String error) {
+        this.error = error;
+        this.status = ToolExecution.STATUS_ERROR;
+    }
+    
+    public boolean isFailed() {
+        return STATUS_INVALID.equals(status) || ToolExecution.STATUS_ERROR.equals(status);
+    }
+    
+
+    public int getIndex() {
+        return index;
+    }
+    
+    public void setIndex(int index) {
+        this.index = index;
+    }
+    
+    public String getTool() {
+        return tool;
+    }
+    
+    public void setTool(String tool) {
+        this.tool = tool;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public ToolExecution getExecution() {
+        return execution;
+    }
+    
+    public void setExecution(ToolExecution execution) {
+        this.execution = execution;
+    }
+    
+    public Long getExecutionTimeMs() {
+        return executionTimeMs;
+    }
+    
+    public void setExecutionTimeMs(Long executionTimeMs) {
+        this.executionTimeMs = executionTimeMs;
+    }
+    
+    public List<SchemaViolation> getViolations() {
+        return violations;
+    }
+    
+    public void setViolations(List<SchemaViolation> violations) {
+        this.violations = violations;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.mcp.model;
+
+import java.util.List;
+
+public class ExecutionPage {
+    
+    private final List<ToolExecution> executions;
+    
+    private final String nextCursor;
+    
+    public ExecutionPage(List<ToolExecution> executions, String nextCursor) {
+        this.executions = executions;
+        this.nextCursor = nextCursor;
+    }
+    
+    public List<ToolExecution> getExecutions() {
+        return executions;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.mcp.model;
+
+public enum ExecutionPriority {
+    
+    LOW,
+    NORMAL,
+    HIGH;
+    
+    /**
+     * Converte o valor informado na requisição; ausente equivale a {@link #NORMAL}.
+     */
+    public static ExecutionPriority parse(String value) {
+        if (value == null || value.isBlank()) {
+            return NORMAL;
+        }
+        
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Prioridade inválida: " + value + " (use low, normal ou high)");
+        }
+    }
+}
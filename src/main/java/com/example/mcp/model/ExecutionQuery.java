@@ -0,0 +1,81 @@
+package com.example.mcp.model;
+
+import java.time.LocalDateTime;
+
+public class ExecutionQuery {
+    
+    private String toolName;
+    
+    private String status;
+    
+    private LocalDateTime startedFrom;
+    
+    private LocalDateTime startedTo;
+    
+    private String cursor;
+    
+    private int limit;
+    
+
+    public ExecutionQuery() {
+    }
+    
+    public ExecutionQuery(String toolName, String status, LocalDateTime startedFrom, LocalDateTime startedTo,
+                          String cursor, int limit) {
+        this.toolName = toolName;
+        this.status = status;
+        this.startedFrom = startedFrom;
+        this.startedTo = startedTo;
+        this.cursor = cursor;
+        this.limit = limit;
+    }
+    
+
+    public String getToolName() {
+        return toolName;
+    }
+    
+    public void setToolName(String toolName) {
+        this.toolName = toolName;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public LocalDateTime getStartedFrom() {
+        return startedFrom;
+    }
+    
+    public void setStartedFrom(LocalDateTime startedFrom) {
+        this.startedFrom = startedFrom;
+    }
+    
+    public LocalDateTime getStartedTo() {
+        return startedTo;
+    }
+    
+    public void setStartedTo(LocalDateTime startedTo) {
+        this.startedTo = startedTo;
+    }
+    
+    public String getCursor() {
+        return cursor;
+    }
+    
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+    
+    public int getLimit() {
+        return limit;
+    }
+    
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+}
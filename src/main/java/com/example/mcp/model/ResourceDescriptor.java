@@ -0,0 +1,78 @@
+package com.example.mcp.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dados de catálogo de um resource, sem o conteúdo. Tamanho e hash são calculados na escrita do resource.
+ */
+public class ResourceDescriptor {
+    
+    private final String uri;
+    
+    private final String name;
+    
+    private final String mimeType;
+    
+    private final long size;
+    
+    @JsonProperty("content_hash")
+    private final String contentHash;
+    
+    @JsonProperty("updated_at")
+    private final LocalDateTime updatedAt;
+    
+    @JsonIgnore
+    private final long version;
+    
+    public ResourceDescriptor(String uri, String name, String mimeType, long size, String contentHash,
+                              LocalDateTime updatedAt, long version) {
+        this.uri = uri;
+        this.name = name;
+        this.mimeType = mimeType;
+        this.size = size;
+        this.contentHash = contentHash;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
+    
+    public String getUri() {
+        return uri;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getMimeType() {
+        return mimeType;
+    }
+    
+    /**
+     * Tamanho do conteúdo em bytes: texto em UTF-8 ou, para os demais tipos, o JSON compacto.
+     */
+    public long getSize() {
+        return size;
+    }
+    
+    /**
+     * SHA-256 do conteúdo, em hexadecimal.
+     */
+    public String getContentHash() {
+        return contentHash;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    /**
+     * Versão do resource, incrementada a cada escrita; identifica representações em cache ainda válidas.
+     */
+    @JsonIgnore
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.mcp.model;
+
+import java.util.List;
+
+public class ResourceDescriptorPage {
+    
+    private final List<ResourceDescriptor> descriptors;
+    
+    private final String nextCursor;
+    
+    public ResourceDescriptorPage(List<ResourceDescriptor> descriptors, String nextCursor) {
+        this.descriptors = descriptors;
+        this.nextCursor = nextCursor;
+    }
+    
+    public List<ResourceDescriptor> getDescriptors() {
+        return descriptors;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.mcp.model;
+
+import java.util.List;
+
+public class ResourceSearchResult {
+    
+    private final List<Resource> resources;
+    
+    private final int totalMatches;
+    
+    public ResourceSearchResult(List<Resource> resources, int totalMatches) {
+        this.resources = resources;
+        this.totalMatches = totalMatches;
+    }
+    
+    public List<Resource> getResources() {
+        return resources;
+    }
+    
+    /**
+     * Total de resources que atendem à busca, antes da aplicação do limite.
+     */
+    public int getTotalMatches() {
+        return totalMatches;
+    }
+}
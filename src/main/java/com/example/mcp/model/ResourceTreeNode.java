@@ -0,0 +1,52 @@
+package com.example.mcp.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class ResourceTreeNode {
+    
+    public static final String TYPE_RESOURCE = "resource";
+    public static final String TYPE_DIRECTORY = "directory";
+    
+    private final String uri;
+    
+    private final String type;
+    
+    private final String name;
+    
+    @JsonProperty("mime_type")
+    private final String mimeType;
+    
+    private ResourceTreeNode(String uri, String type, String name, String mimeType) {
+        this.uri = uri;
+        this.type = type;
+        this.name = name;
+        this.mimeType = mimeType;
+    }
+    
+    public static ResourceTreeNode resource(Resource resource) {
+        return new ResourceTreeNode(resource.getUri(), TYPE_RESOURCE, resource.getName(), resource.getMimeType());
+    }
+    
+    /**
+     * Subárvore recolhida pelo limite de profundidade; o URI termina em "/" e pode ser usado como novo prefixo.
+     */
+    public static ResourceTreeNode directory(String uri) {
+        return new ResourceTreeNode(uri, TYPE_DIRECTORY, null, null);
+    }
+    
+    public String getUri() {
+        return uri;
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getMimeType() {
+        return mimeType;
+    }
+}
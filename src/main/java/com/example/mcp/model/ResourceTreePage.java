@@ -0,0 +1,27 @@
+package com.example.mcp.model;
+
+import java.util.List;
+
+public class ResourceTreePage {
+    
+    private final List<ResourceTreeNode> nodes;
+    
+    private final String nextCursor;
+    
+    public ResourceTreePage(List<ResourceTreeNode> nodes, String nextCursor) {
+        this.nodes = nodes;
+        this.nextCursor = nextCursor;
+    }
+    
+    public List<ResourceTreeNode> getNodes() {
+        return nodes;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
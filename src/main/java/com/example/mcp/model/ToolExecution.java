@@ -1,73 +1,138 @@
 package com.example.mcp.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 public class ToolExecution {
     
+    public static final String STATUS_QUEUED = "queued";
+    public static final String STATUS_RUNNING = "running";
+    public static final String STATUS_SUCCESS = "success";
+    public static final String STATUS_ERROR = "error";
+    public static final String STATUS_CANCELLED = "cancelled";
+    public static final String STATUS_TIMED_OUT = "timed_out";
+    
     @NotBlank
     private String toolName;
     
     @NotNull
     private Map<String, Object> arguments;
     
-    private Object result;
+    private volatile Object result;
     
-    private String status;
+    private volatile String status;
     
-    private String errorMessage;
+    private volatile String errorMessage;
     
     @JsonProperty("execution_id")
     private String executionId;
     
+    // Instante de criação: fixo, para que o filtro por período concorde com a ordem dos IDs no histórico
     @JsonProperty("started_at")
-    private LocalDateTime startedAt;
+    private volatile LocalDateTime startedAt;
+    
+    @JsonProperty("run_started_at")
+    private volatile LocalDateTime runStartedAt;
     
     @JsonProperty("completed_at")
-    private LocalDateTime completedAt;
+    private volatile LocalDateTime completedAt;
+    
+    private volatile Long executionTimeMs;
+    
+    @JsonProperty("cache_hit")
+    private Boolean cacheHit;
+    
+    @JsonProperty("coalesced_with")
+    private String coalescedWith;
     
-    private Long executionTimeMs;
+    @JsonIgnore
+    private volatile long startNanos;
+    
+    @JsonIgnore
+    private volatile long durationNanos;
     
 
     public ToolExecution() {
         this.startedAt = LocalDateTime.now();
-        this.status = "running";
+        this.runStartedAt = this.startedAt;
+        this.startNanos = System.nanoTime();
+        this.status = STATUS_RUNNING;
     }
     
-    public ToolExecution(String toolName, Map<String, Object> arguments) {
+    public ToolExecution(String executionId, String toolName, Map<String, Object> arguments) {
         this();
+        this.executionId = executionId;
         this.toolName = toolName;
         this.arguments = arguments;
-        this.executionId = generateExecutionId();
     }
     
 
-    private String generateExecutionId() {
-        return "exec_" + System.currentTimeMillis() + "_" + Math.random();
+    public synchronized void markQueued() {
+        this.runStartedAt = null;
+        this.status = STATUS_QUEUED;
     }
     
 
-    public void markCompleted(Object result) {
-        this.result = result;
-        this.status = "success";
-        this.completedAt = LocalDateTime.now();
-        if (this.startedAt != null) {
-            this.executionTimeMs = java.time.Duration.between(this.startedAt, this.completedAt).toMillis();
+    public synchronized void markRunning() {
+        if (!STATUS_QUEUED.equals(this.status)) {
+            return;
         }
+        this.runStartedAt = LocalDateTime.now();
+        this.startNanos = System.nanoTime();
+        this.status = STATUS_RUNNING;
     }
     
-
-    public void markFailed(String errorMessage) {
-        this.status = "error";
+    // Transições para estados finais são exclusivas: a primeira vence e as seguintes são ignoradas
+    public synchronized boolean markCompleted(Object result) {
+        if (isFinished()) {
+            return false;
+        }
+        this.result = result;
+        recordCompletion();
+        this.status = STATUS_SUCCESS;
+        return true;
+    }
+    
+    public synchronized boolean markFailed(String errorMessage) {
+        return finish(STATUS_ERROR, errorMessage);
+    }
+    
+    public synchronized boolean markCancelled(String reason) {
+        return finish(STATUS_CANCELLED, reason);
+    }
+    
+    public synchronized boolean markTimedOut(String reason) {
+        return finish(STATUS_TIMED_OUT, reason);
+    }
+    
+    @JsonIgnore
+    public boolean isFinished() {
+        String current = this.status;
+        return STATUS_SUCCESS.equals(current) || STATUS_ERROR.equals(current)
+                || STATUS_CANCELLED.equals(current) || STATUS_TIMED_OUT.equals(current);
+    }
+    
+    private boolean finish(String finalStatus, String errorMessage) {
+        if (isFinished()) {
+            return false;
+        }
         this.errorMessage = errorMessage;
+        recordCompletion();
+        this.status = finalStatus;
+        return true;
+    }
+    
+    private void recordCompletion() {
+        // Duração medida com nanoTime: monotônica e imune a ajustes do relógio do sistema
+        this.durationNanos = System.nanoTime() - this.startNanos;
+        this.executionTimeMs = TimeUnit.NANOSECONDS.toMillis(this.durationNanos);
         this.completedAt = LocalDateTime.now();
-        if (this.startedAt != null) {
-            this.executionTimeMs = java.time.Duration.between(this.startedAt, this.completedAt).toMillis();
-        }
     }
     
 
@@ -127,6 +192,17 @@ public class ToolExecution {
         this.startedAt = startedAt;
     }
     
+    /**
+     * Início efetivo da execução, depois da espera na fila; {@code null} enquanto ela está enfileirada.
+     */
+    public LocalDateTime getRunStartedAt() {
+        return runStartedAt;
+    }
+    
+    public void setRunStartedAt(LocalDateTime runStartedAt) {
+        this.runStartedAt = runStartedAt;
+    }
+    
     public LocalDateTime getCompletedAt() {
         return completedAt;
     }
@@ -142,4 +218,28 @@ public class ToolExecution {
     public void setExecutionTimeMs(Long executionTimeMs) {
         this.executionTimeMs = executionTimeMs;
     }
-}
\ No newline at end of file
+    
+    public Boolean getCacheHit() {
+        return cacheHit;
+    }
+    
+    public void setCacheHit(Boolean cacheHit) {
+        this.cacheHit = cacheHit;
+    }
+    
+    /**
+     * ID da execução idêntica, em andamento na mesma hora, cujo resultado foi reaproveitado.
+     */
+    public String getCoalescedWith() {
+        return coalescedWith;
+    }
+    
+    public void setCoalescedWith(String coalescedWith) {
+        this.coalescedWith = coalescedWith;
+    }
+    
+    @JsonIgnore
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+}
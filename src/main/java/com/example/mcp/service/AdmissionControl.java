@@ -0,0 +1,290 @@
+package com.example.mcp.service;
+
+import com.example.mcp.config.RateLimitConfig;
+import com.example.mcp.model.ExecutionPriority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Controle de admissão das execuções: limites de taxa por tool e por cliente (token bucket)
+ * e descarte de chamadas de baixa prioridade quando a fila dos pools de execução está longa.
+ */
+@Component
+public class AdmissionControl {
+
+    public static final String RESULT_ADMITTED = "admitted";
+    public static final String RESULT_THROTTLED = "throttled";
+    public static final String RESULT_SHED = "shed";
+
+    public static final String LIMIT_TOOL = "tool";
+    public static final String LIMIT_CLIENT = "client";
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimitConfig config;
+    private final MeterRegistry meterRegistry;
+    private final List<ThreadPoolExecutor> pools;
+    private final Map<String, Optional<TokenBucket>> toolBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> clientBuckets = new ConcurrentHashMap<>();
+    private final AtomicInteger trackedClients = new AtomicInteger();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime() - SWEEP_INTERVAL_NANOS);
+    private volatile TokenBucket overflowBucket;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public AdmissionControl(RateLimitConfig config, MeterRegistry meterRegistry,
+                            @Qualifier("toolExecutionExecutor") ExecutorService toolExecutionExecutor,
+                            @Qualifier("blockingToolExecutor") ExecutorService blockingToolExecutor) {
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        // Pools de virtual threads não têm fila e não entram na medição de profundidade
+        this.pools = Stream.of(toolExecutionExecutor, blockingToolExecutor)
+                .filter(ThreadPoolExecutor.class::isInstance)
+                .map(ThreadPoolExecutor.class::cast)
+                .toList();
+    }
+
+    public Decision admit(String toolName, String clientKey, ExecutionPriority priority) {
+        if (!config.isEnabled()) {
+            return Decision.ADMITTED;
+        }
+
+        if (priority == ExecutionPriority.LOW && queueDepth() >= config.getShedQueueDepth()) {
+            count(toolName, RESULT_SHED);
+            return new Decision(RESULT_SHED, null, 0);
+        }
+
+        Optional<TokenBucket> toolBucket = toolBucket(toolName);
+        long waitNanos = tryAcquire(toolBucket);
+        if (waitNanos > 0) {
+            count(toolName, RESULT_THROTTLED);
+            return new Decision(RESULT_THROTTLED, LIMIT_TOOL, waitNanos);
+        }
+        waitNanos = tryAcquire(clientBucket(clientKey));
+        if (waitNanos > 0) {
+            // Cliente acima do limite: o token da tool volta para não consumir a cota dos demais clientes
+            toolBucket.ifPresent(TokenBucket::release);
+            count(toolName, RESULT_THROTTLED);
+            return new Decision(RESULT_THROTTLED, LIMIT_CLIENT, waitNanos);
+        }
+
+        count(toolName, RESULT_ADMITTED);
+        return Decision.ADMITTED;
+    }
+
+    /**
+     * Admite um lote inteiro ou nada: cada item consome um token da sua tool e um do cliente. Se algum
+     * balde recusa, os tokens já consumidos voltam, para que um lote recusado não gaste a cota de ninguém.
+     */
+    public Decision admitBatch(List<String> toolNames, String clientKey, ExecutionPriority priority) {
+        if (!config.isEnabled()) {
+            return Decision.ADMITTED;
+        }
+
+        Map<String, Integer> itemsPerTool = new LinkedHashMap<>();
+        for (String toolName : toolNames) {
+            itemsPerTool.merge(toolName, 1, Integer::sum);
+        }
+
+        if (priority == ExecutionPriority.LOW && queueDepth() >= config.getShedQueueDepth()) {
+            itemsPerTool.forEach((toolName, items) -> count(toolName, RESULT_SHED, items));
+            return new Decision(RESULT_SHED, null, 0);
+        }
+
+        Map<TokenBucket, Integer> acquired = new LinkedHashMap<>();
+        Decision refusal = null;
+        for (Map.Entry<String, Integer> entry : itemsPerTool.entrySet()) {
+            Optional<TokenBucket> toolBucket = toolBucket(entry.getKey());
+            long waitNanos = tryAcquire(toolBucket, entry.getValue());
+            if (waitNanos > 0) {
+                refusal = new Decision(RESULT_THROTTLED, LIMIT_TOOL, waitNanos);
+                break;
+            }
+            toolBucket.ifPresent(bucket -> acquired.put(bucket, entry.getValue()));
+        }
+        if (refusal == null) {
+            long waitNanos = tryAcquire(clientBucket(clientKey), toolNames.size());
+            if (waitNanos > 0) {
+                refusal = new Decision(RESULT_THROTTLED, LIMIT_CLIENT, waitNanos);
+            }
+        }
+
+        if (refusal != null) {
+            acquired.forEach(TokenBucket::release);
+            itemsPerTool.forEach((toolName, items) -> count(toolName, RESULT_THROTTLED, items));
+            return refusal;
+        }
+        itemsPerTool.forEach((toolName, items) -> count(toolName, RESULT_ADMITTED, items));
+        return Decision.ADMITTED;
+    }
+
+    /**
+     * Identifica o cliente pela chave de API (header configurável) ou, na falta dela, pelo endereço remoto.
+     */
+    public String resolveClientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(config.getClientHeader());
+        return apiKey != null && !apiKey.isBlank() ? "key:" + apiKey : "addr:" + request.getRemoteAddr();
+    }
+
+    public int queueDepth() {
+        int depth = 0;
+        for (ThreadPoolExecutor pool : pools) {
+            depth += pool.getQueue().size();
+        }
+        return depth;
+    }
+
+    private static long tryAcquire(Optional<TokenBucket> bucket) {
+        return tryAcquire(bucket, 1);
+    }
+
+    private static long tryAcquire(Optional<TokenBucket> bucket, int permits) {
+        return bucket.map(b -> b.tryAcquire(permits)).orElse(0L);
+    }
+
+    private Optional<TokenBucket> toolBucket(String toolName) {
+        return toolBuckets.computeIfAbsent(toolName, name -> {
+            RateLimitConfig.Limit limit = config.getTools().getOrDefault(name, config.getPerTool());
+            return limit.isUnlimited() ? Optional.empty() : Optional.of(new TokenBucket(limit.getRate(), limit.getBurst()));
+        });
+    }
+
+    private Optional<TokenBucket> clientBucket(String clientKey) {
+        RateLimitConfig.Limit limit = config.getPerClient();
+        if (limit.isUnlimited()) {
+            return Optional.empty();
+        }
+
+        TokenBucket bucket = clientBuckets.get(clientKey);
+        if (bucket == null) {
+            bucket = track(clientKey, limit);
+            if (bucket == null && sweepIdleClients()) {
+                bucket = track(clientKey, limit);
+            }
+            if (bucket == null) {
+                // Limite de clientes rastreados atingido: os clientes excedentes dividem um único balde
+                bucket = overflowBucket(limit);
+            }
+        }
+        return Optional.of(bucket);
+    }
+
+    /**
+     * Cria o balde do cliente se ainda houver vaga; a reserva da vaga acontece dentro do computeIfAbsent,
+     * então o total de baldes nunca passa de {@code max-tracked-clients}.
+     */
+    private TokenBucket track(String clientKey, RateLimitConfig.Limit limit) {
+        return clientBuckets.computeIfAbsent(clientKey, key -> {
+            int max = config.getMaxTrackedClients();
+            return trackedClients.getAndUpdate(count -> count < max ? count + 1 : count) < max
+                    ? new TokenBucket(limit.getRate(), limit.getBurst())
+                    : null;
+        });
+    }
+
+    /**
+     * Descarta os baldes ociosos, no máximo uma vez por intervalo: chaves novas a cada requisição
+     * não transformam cada chamada em uma varredura do mapa.
+     */
+    private boolean sweepIdleClients() {
+        long now = System.nanoTime();
+        long last = lastSweep.get();
+        if (now - last < SWEEP_INTERVAL_NANOS || !lastSweep.compareAndSet(last, now)) {
+            return false;
+        }
+
+        boolean removed = false;
+        for (Map.Entry<String, TokenBucket> entry : clientBuckets.entrySet()) {
+            // Baldes cheios equivalem a baldes novos, então podem ser descartados sem afetar o limite
+            if (entry.getValue().isIdle() && clientBuckets.remove(entry.getKey(), entry.getValue())) {
+                trackedClients.decrementAndGet();
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    private TokenBucket overflowBucket(RateLimitConfig.Limit limit) {
+        TokenBucket bucket = overflowBucket;
+        if (bucket == null) {
+            synchronized (this) {
+                if (overflowBucket == null) {
+                    overflowBucket = new TokenBucket(limit.getRate(), limit.getBurst());
+                }
+                bucket = overflowBucket;
+            }
+        }
+        return bucket;
+    }
+
+    private void count(String toolName, String result) {
+        count(toolName, result, 1);
+    }
+
+    private void count(String toolName, String result, int amount) {
+        counters.computeIfAbsent(toolName + '\u0000' + result, key -> Counter.builder("mcp.tools.admission")
+                .description("Decisões do controle de admissão de execuções")
+                .tag("tool", toolName)
+                .tag("result", result)
+                .register(meterRegistry)).increment(amount);
+    }
+
+    public static final class Decision {
+
+        private static final Decision ADMITTED = new Decision(RESULT_ADMITTED, null, 0);
+
+        private final String result;
+        private final String limitedBy;
+        private final long retryAfterNanos;
+
+        private Decision(String result, String limitedBy, long retryAfterNanos) {
+            this.result = result;
+            this.limitedBy = limitedBy;
+            this.retryAfterNanos = retryAfterNanos;
+        }
+
+        public boolean isAdmitted() {
+            return RESULT_ADMITTED.equals(result);
+        }
+
+        public boolean isShed() {
+            return RESULT_SHED.equals(result);
+        }
+
+        public String getResult() {
+            return result;
+        }
+
+        /**
+         * Limite que recusou a chamada ({@code tool} ou {@code client}); {@code null} se ela foi admitida ou descartada.
+         */
+        public String getLimitedBy() {
+            return limitedBy;
+        }
+
+        public boolean isClientLimited() {
+            return LIMIT_CLIENT.equals(limitedBy);
+        }
+
+        /**
+         * Segundos até uma nova tentativa ter chance de ser admitida, arredondados para cima (mínimo 1).
+         */
+        public long getRetryAfterSeconds() {
+            return Math.max(1, (retryAfterNanos + 999_999_999L) / 1_000_000_000L);
+        }
+    }
+}
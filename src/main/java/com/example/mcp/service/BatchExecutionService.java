@@ -0,0 +1,132 @@
+package com.example.mcp.service;
+
+import com.example.mcp.config.ToolExecutionConfig;
+import com.example.mcp.model.BatchExecutionRequest;
+import com.example.mcp.model.BatchItemResult;
+import com.example.mcp.validation.ArgumentValidationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class BatchExecutionService {
+
+    @Autowired
+    private ToolService toolService;
+
+    @Autowired
+    private ToolExecutionConfig config;
+
+    @Autowired
+    @Qualifier("toolExecutionExecutor")
+    private ExecutorService toolExecutionExecutor;
+
+    public List<BatchItemResult> executeBatch(BatchExecutionRequest request) {
+        validate(request);
+        List<BatchExecutionRequest.Item> items = request.getItems();
+
+        BatchItemResult[] results = new BatchItemResult[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            results[i] = new BatchItemResult(i, items.get(i).getTool());
+        }
+
+        int parallelism = resolveParallelism(request.getMaxParallelism(), items.size());
+        AtomicInteger nextIndex = new AtomicInteger();
+        AtomicBoolean aborted = new AtomicBoolean();
+        // Conta os itens resolvidos, executados ou pulados, para esperar só pelos helpers que pegaram algum item
+        CountDownLatch pending = new CountDownLatch(items.size());
+        boolean failFast = request.isFailFast();
+
+        // Cada worker consome o próximo item livre, limitando o lote a "parallelism" execuções simultâneas
+        Runnable worker = () -> {
+            int index;
+            while (!aborted.get() && (index = nextIndex.getAndIncrement()) < items.size()) {
+                BatchExecutionRequest.Item item = items.get(index);
+                Map<String, Object> arguments = item.getArguments() != null ? item.getArguments() : Map.of();
+                try {
+                    results[index].complete(toolService.executeTool(item.getTool(), arguments));
+                } catch (ArgumentValidationException e) {
+                    results[index].reject(e.getViolations());
+                } catch (RuntimeException e) {
+                    // Falha de um item (ex.: prazo inválido) não interrompe o lote
+                    results[index].fail(e.getMessage());
+                } finally {
+                    pending.countDown();
+                }
+
+                if (failFast && results[index].isFailed()) {
+                    aborted.set(true);
+                }
+            }
+        };
+
+        List<Future<?>> workers = new ArrayList<>(parallelism - 1);
+        for (int i = 1; i < parallelism; i++) {
+            try {
+                workers.add(toolExecutionExecutor.submit(worker));
+            } catch (RejectedExecutionException e) {
+                break;
+            }
+        }
+
+        // A thread da requisição também participa, garantindo progresso mesmo com o pool saturado
+        worker.run();
+
+        // Itens que nenhum worker pegou (lote abortado) ficam como estão; o índice é fechado para que
+        // helpers que começarem depois daqui não peguem mais nada
+        int claimed = Math.min(nextIndex.getAndSet(items.size()), items.size());
+        for (int i = claimed; i < items.size(); i++) {
+            pending.countDown();
+        }
+        // Helpers ainda na fila do pool não são esperados: a requisição não fica presa atrás de um pool saturado
+        for (Future<?> future : workers) {
+            future.cancel(false);
+        }
+        try {
+            pending.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            aborted.set(true);
+        }
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Valida a estrutura do lote e a existência das tools antes de qualquer execução ou controle de admissão,
+     * para que nomes desconhecidos não criem métricas nem baldes de limite.
+     */
+    public void validate(BatchExecutionRequest request) {
+        List<BatchExecutionRequest.Item> items = request.getItems();
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("O lote deve conter ao menos um item");
+        }
+
+        if (items.size() > config.getBatchMaxItems()) {
+            throw new IllegalArgumentException("O lote excede o limite de " + config.getBatchMaxItems() + " itens");
+        }
+
+        for (int i = 0; i < items.size(); i++) {
+            BatchExecutionRequest.Item item = items.get(i);
+            if (item == null || item.getTool() == null || item.getTool().trim().isEmpty()) {
+                throw new IllegalArgumentException("Item " + i + " do lote sem nome de tool");
+            }
+            if (!toolService.toolExists(item.getTool())) {
+                throw new IllegalArgumentException("Item " + i + " do lote: tool '" + item.getTool() + "' não encontrada");
+            }
+        }
+    }
+
+    private int resolveParallelism(Integer requested, int itemCount) {
+        int parallelism = config.getBatchMaxParallelism();
+        if (requested != null && requested > 0) {
+            parallelism = Math.min(parallelism, requested);
+        }
+        return Math.max(1, Math.min(parallelism, itemCount));
+    }
+}
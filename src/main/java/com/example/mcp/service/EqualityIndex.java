@@ -0,0 +1,51 @@
+package com.example.mcp.service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice secundário de igualdade: valor do atributo para o conjunto de URIs que o possuem.
+ * Escritas devem ser serializadas pelo chamador; leituras podem ser concorrentes.
+ */
+public class EqualityIndex {
+
+    private final Map<String, Set<String>> postings = new ConcurrentHashMap<>();
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+
+    /**
+     * Associa o URI ao valor, substituindo o anterior; {@code null} remove o URI do índice.
+     */
+    public void put(String uri, String value) {
+        String previous = value != null ? values.put(uri, value) : values.remove(uri);
+        if (Objects.equals(previous, value)) {
+            return;
+        }
+        if (previous != null) {
+            postings.computeIfPresent(previous, (key, uris) -> {
+                uris.remove(uri);
+                return uris.isEmpty() ? null : uris;
+            });
+        }
+        if (value != null) {
+            postings.computeIfAbsent(value, key -> ConcurrentHashMap.newKeySet()).add(uri);
+        }
+    }
+
+    public void remove(String uri) {
+        put(uri, null);
+    }
+
+    public Set<String> get(String value) {
+        Set<String> uris = postings.get(value);
+        return uris != null ? Collections.unmodifiableSet(uris) : Set.of();
+    }
+
+    /**
+     * Quantidade de URIs por valor, obtida dos tamanhos dos conjuntos sem percorrer os resources.
+     */
+    public Map<String, Long> cardinalities() {
+        Map<String, Long> counts = new HashMap<>();
+        postings.forEach((value, uris) -> counts.put(value, (long) uris.size()));
+        return counts;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.mcp.service;
+
+import com.example.mcp.executor.ExecutionContext;
+import com.example.mcp.executor.ExecutionTraits;
+import com.example.mcp.model.Tool;
+import com.example.mcp.model.ToolExecution;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Agrupa execuções simultâneas idênticas (mesma {@link ExecutionKey}): a primeira executa a tool e as demais
+ * aguardam e reaproveitam o resultado, cada uma com sua própria {@link ToolExecution} apontando para a líder.
+ *
+ * Se a líder for cancelada ou expirar, as que aguardavam não herdam esse status: uma delas assume a execução.
+ * Já o resultado ou erro da tool é compartilhado, pois os argumentos são os mesmos.
+ */
+@Component
+public class ExecutionCoalescer {
+
+    public static final String COALESCE_METADATA_KEY = "coalesce";
+
+    private final Map<ExecutionKey, Flight> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public ExecutionCoalescer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("mcp.tools.coalescing.in_flight", inFlight, Map::size)
+                .description("Execuções líderes sendo compartilhadas por chamadas idênticas")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Tools determinísticas são agrupadas por padrão; metadata.coalesce força o agrupamento ou o desativa.
+     */
+    public boolean isCoalescable(Tool tool, ExecutionTraits traits) {
+        Object flag = tool != null && tool.getMetadata() != null ? tool.getMetadata().get(COALESCE_METADATA_KEY) : null;
+        if (flag != null) {
+            return Boolean.TRUE.equals(flag) || "true".equals(flag);
+        }
+        return traits.isDeterministic();
+    }
+
+    public Object execute(ExecutionKey key, ToolExecution execution, ExecutionContext context,
+                          Callable<Object> computation) throws Exception {
+        while (true) {
+            Flight flight = new Flight(execution.getExecutionId());
+            Flight leader = inFlight.putIfAbsent(key, flight);
+            if (leader == null) {
+                return lead(key, flight, context, computation);
+            }
+
+            Outcome outcome = leader.await(context);
+            if (outcome.abandoned) {
+                // A líder foi cancelada ou expirou: tenta novamente, possivelmente assumindo a execução
+                continue;
+            }
+
+            execution.setCoalescedWith(leader.executionId);
+            counters.computeIfAbsent(key.getToolName(), tool -> Counter.builder("mcp.tools.coalesced")
+                    .description("Execuções que reaproveitaram o resultado de uma execução idêntica em andamento")
+                    .tag("tool", tool)
+                    .register(meterRegistry)).increment();
+            if (outcome.error != null) {
+                throw outcome.error;
+            }
+            return outcome.result;
+        }
+    }
+
+    private Object lead(ExecutionKey key, Flight flight, ExecutionContext context,
+                        Callable<Object> computation) throws Exception {
+        Outcome outcome = Outcome.ABANDONED;
+        try {
+            Object result = computation.call();
+            outcome = new Outcome(result, null, false);
+            return result;
+        } catch (Exception e) {
+            // Falhas causadas pelo cancelamento da líder não valem para as demais chamadas
+            outcome = context.isCancelled() ? Outcome.ABANDONED : new Outcome(null, e, false);
+            throw e;
+        } finally {
+            // Sai do mapa antes de concluir, para que chamadas novas não recebam um resultado já entregue
+            inFlight.remove(key, flight);
+            flight.future.complete(outcome);
+        }
+    }
+
+    private static final class Flight {
+
+        private final String executionId;
+        private final CompletableFuture<Outcome> future = new CompletableFuture<>();
+
+        private Flight(String executionId) {
+            this.executionId = executionId;
+        }
+
+        private Outcome await(ExecutionContext context) throws InterruptedException {
+            try {
+                return future.get(context.getRemaining().toNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                context.throwIfCancelled();
+                return Outcome.ABANDONED;
+            } catch (ExecutionException e) {
+                // O future só é concluído com um Outcome
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    private static final class Outcome {
+
+        private static final Outcome ABANDONED = new Outcome(null, null, true);
+
+        private final Object result;
+        private final Exception error;
+        private final boolean abandoned;
+
+        private Outcome(Object result, Exception error, boolean abandoned) {
+            this.result = result;
+            this.error = error;
+            this.abandoned = abandoned;
+        }
+    }
+}
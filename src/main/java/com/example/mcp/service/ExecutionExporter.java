@@ -0,0 +1,56 @@
+package com.example.mcp.service;
+
+import com.example.mcp.model.ExecutionQuery;
+import com.example.mcp.model.ToolExecution;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+@Component
+public class ExecutionExporter {
+
+    private static final int FLUSH_EVERY = 1000;
+
+    private final ExecutionStore executionStore;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
+
+    public ExecutionExporter(ExecutionStore executionStore, ObjectMapper objectMapper) {
+        this.executionStore = executionStore;
+        this.objectMapper = objectMapper;
+        this.writer = objectMapper.writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Escreve as execuções como NDJSON (um objeto JSON por linha), em ordem crescente de ID,
+     * sem materializar o histórico em memória. Retorna a quantidade de execuções exportadas.
+     */
+    public long export(ExecutionQuery query, String afterId, OutputStream out) throws IOException {
+        Iterator<ToolExecution> executions = executionStore.scan(query, afterId);
+        long count = 0;
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            while (executions.hasNext()) {
+                writer.writeValue(generator, executions.next());
+                generator.writeRaw('\n');
+
+                if (++count % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.mcp.service;
+
+import com.example.mcp.config.ToolExecutionConfig;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gera IDs de execução ordenáveis por tempo no formato {@code exec_<17 caracteres base32 Crockford>}.
+ *
+ * Os 84 bits codificados são: timestamp em milissegundos (48 bits), nó (16 bits) e sequência (20 bits).
+ * IDs gerados no mesmo nó são estritamente crescentes, também na ordem lexicográfica.
+ */
+@Component
+public class ExecutionIdGenerator {
+
+    public static final String PREFIX = "exec_";
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int ENCODED_LENGTH = 17;
+    private static final int SEQUENCE_BITS = 20;
+    private static final int NODE_BITS = 16;
+    private static final int LOW_BITS = NODE_BITS + SEQUENCE_BITS;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long NODE_MASK = (1L << NODE_BITS) - 1;
+
+    private final long nodeId;
+
+    // Último milissegundo (bits altos) e sequência dentro dele (20 bits baixos)
+    private final AtomicLong state = new AtomicLong();
+
+    public ExecutionIdGenerator(ToolExecutionConfig config) {
+        this.nodeId = config.getNodeId() != null ? config.getNodeId() & NODE_MASK : defaultNodeId();
+    }
+
+    public String nextId() {
+        long now = System.currentTimeMillis();
+        long current;
+        long next;
+
+        do {
+            current = state.get();
+            long lastMillis = current >>> SEQUENCE_BITS;
+
+            if (now > lastMillis) {
+                next = now << SEQUENCE_BITS;
+            } else if ((current & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                next = current + 1;
+            } else {
+                // Sequência esgotada no milissegundo: avança o relógio lógico em vez de esperar
+                next = (lastMillis + 1) << SEQUENCE_BITS;
+            }
+        } while (!state.compareAndSet(current, next));
+
+        return encode(next >>> SEQUENCE_BITS, (nodeId << SEQUENCE_BITS) | (next & SEQUENCE_MASK));
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Menor ID possível para o instante informado; útil como limite de buscas por intervalo.
+     */
+    public static String lowerBound(long epochMillis) {
+        return encode(epochMillis, 0);
+    }
+
+    public static long timestampOf(String executionId) {
+        if (!isValid(executionId)) {
+            throw new IllegalArgumentException("ID de execução inválido: " + executionId);
+        }
+
+        long high = 0;
+        long low = 0;
+        for (int i = PREFIX.length(); i < executionId.length(); i++) {
+            int value = decode(executionId.charAt(i));
+            high = (high << 5) | (low >>> 59);
+            low = (low << 5) | value;
+        }
+        return (low >>> LOW_BITS) | (high << (64 - LOW_BITS));
+    }
+
+    public static boolean isValid(String executionId) {
+        if (executionId == null || executionId.length() != PREFIX.length() + ENCODED_LENGTH
+                || !executionId.startsWith(PREFIX)) {
+            return false;
+        }
+        for (int i = PREFIX.length(); i < executionId.length(); i++) {
+            if (decode(executionId.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String encode(long millis, long low) {
+        char[] out = new char[PREFIX.length() + ENCODED_LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), out, 0);
+
+        for (int i = 0; i < ENCODED_LENGTH; i++) {
+            int shift = 5 * (ENCODED_LENGTH - 1 - i);
+            long bits;
+            if (shift >= LOW_BITS) {
+                bits = millis >>> (shift - LOW_BITS);
+            } else if (shift + 5 <= LOW_BITS) {
+                bits = low >>> shift;
+            } else {
+                bits = (low >>> shift) | (millis << (LOW_BITS - shift));
+            }
+            out[PREFIX.length() + i] = ALPHABET[(int) (bits & 31)];
+        }
+
+        return new String(out);
+    }
+
+    private static int decode(char c) {
+        for (int i = 0; i < ALPHABET.length; i++) {
+            if (ALPHABET[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long defaultNodeId() {
+        String identity;
+        try {
+            identity = InetAddress.getLocalHost().getHostName() + "/" + ManagementFactory.getRuntimeMXBean().getName();
+        } catch (Exception e) {
+            identity = ManagementFactory.getRuntimeMXBean().getName();
+        }
+        return identity.hashCode() & NODE_MASK;
+    }
+}
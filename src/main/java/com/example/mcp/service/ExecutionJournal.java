@@ -0,0 +1,482 @@
+package com.example.mcp.service;
+
+import com.example.mcp.config.ExecutionHistoryConfig;
+import com.example.mcp.config.ExecutionJournalConfig;
+import com.example.mcp.model.ToolExecution;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Journal append-only das execuções concluídas, dividido em segmentos no disco local.
+ *
+ * Cada registro é gravado como {@code [tamanho:int][crc32:int][tamanho do ID:short][ID][JSON]}.
+ * Uma única thread grava os registros em lotes (group commit), com um {@code force} por lote.
+ * Na inicialização os segmentos são mapeados em memória e reaplicados no {@link ExecutionStore};
+ * segmentos cujas execuções já saíram da política de retenção são removidos.
+ *
+ * Falhas de gravação não derrubam a thread: o lote é mantido e regravado em um segmento novo, e o
+ * journal fica {@code DOWN} no health até uma gravação voltar a ter sucesso.
+ */
+@Component
+public class ExecutionJournal implements HealthIndicator {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutionJournal.class);
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_BYTES = Integer.BYTES + Integer.BYTES;
+    private static final long POLL_TIMEOUT_MS = 100;
+
+    private final ExecutionJournalConfig config;
+    private final ExecutionHistoryConfig historyConfig;
+    private final ExecutionStore executionStore;
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+
+    private final Timer commitTimer;
+    private final DistributionSummary batchSize;
+    private final Counter compactedSegments;
+    private final Counter writeFailures;
+    private final Counter droppedRecords;
+    private final AtomicInteger segmentCount = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile String lastError;
+
+    private final BlockingQueue<Record> queue;
+    private volatile boolean running;
+    private Thread writerThread;
+
+    // Acessados apenas pela thread de gravação após a inicialização
+    private final NavigableMap<Long, Segment> segments = new TreeMap<>();
+    private Path directory;
+    private Segment current;
+    private FileChannel channel;
+
+    public ExecutionJournal(ExecutionJournalConfig config, ExecutionHistoryConfig historyConfig,
+                            ExecutionStore executionStore, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.historyConfig = historyConfig;
+        this.executionStore = executionStore;
+        this.writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        this.reader = objectMapper.readerFor(ToolExecution.class);
+        this.queue = new LinkedBlockingQueue<>(config.getQueueCapacity());
+
+        this.commitTimer = Timer.builder("mcp.executions.journal.commit")
+                .description("Tempo de gravação de cada lote no journal de execuções")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("mcp.executions.journal.batch")
+                .description("Registros gravados por lote no journal de execuções")
+                .register(meterRegistry);
+        this.compactedSegments = Counter.builder("mcp.executions.journal.compacted")
+                .description("Segmentos do journal removidos pela política de retenção")
+                .register(meterRegistry);
+        this.writeFailures = Counter.builder("mcp.executions.journal.failures")
+                .description("Lotes que falharam ao ser gravados no journal")
+                .register(meterRegistry);
+        this.droppedRecords = Counter.builder("mcp.executions.journal.dropped")
+                .description("Execuções descartadas sem gravação no journal (fila cheia ou falha de serialização)")
+                .register(meterRegistry);
+        Gauge.builder("mcp.executions.journal.segments", segmentCount, AtomicInteger::get)
+                .description("Segmentos existentes no journal de execuções")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * Enfileira uma execução concluída para gravação. Com a fila cheia, espera até {@code offer-timeout}
+     * e então descarta o registro, contando-o em {@code mcp.executions.journal.dropped}: a thread
+     * que concluiu a execução nunca fica presa ao journal.
+     */
+    public void append(ToolExecution execution) {
+        if (!running) {
+            return;
+        }
+
+        try {
+            if (!queue.offer(encode(execution), config.getOfferTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                drop(execution, "fila do journal cheia");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            drop(execution, "thread interrompida");
+        } catch (IOException e) {
+            log.error("Falha ao serializar execução {} para o journal", execution.getExecutionId(), e);
+            drop(execution, "falha de serialização");
+        }
+    }
+
+    private void drop(ToolExecution execution, String reason) {
+        droppedRecords.increment();
+        // Registra a primeira perda e depois uma a cada mil, para não inundar o log sob carga
+        if (dropped.getAndIncrement() % 1000 == 0) {
+            log.warn("Execução {} não gravada no journal: {} ({} descartadas até agora)",
+                    execution.getExecutionId(), reason, dropped.get());
+        }
+    }
+
+    @Override
+    public Health health() {
+        if (!config.isEnabled()) {
+            return Health.up().withDetail("enabled", false).build();
+        }
+
+        String error = lastError;
+        Health.Builder builder = running && error == null ? Health.up() : Health.down();
+        builder.withDetail("enabled", true)
+                .withDetail("segments", segmentCount.get())
+                .withDetail("queued", queue.size())
+                .withDetail("dropped", dropped.get());
+        if (error != null) {
+            builder.withDetail("error", error);
+        }
+        return builder.build();
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        directory = Paths.get(config.getDirectory());
+        Files.createDirectories(directory);
+
+        long startNanos = System.nanoTime();
+        long restored = 0;
+        List<Path> files = listSegments(directory);
+        for (int i = 0; i < files.size(); i++) {
+            Segment segment = new Segment(sequenceOf(files.get(i)), files.get(i));
+            restored += replay(segment, i == files.size() - 1);
+            segments.put(segment.sequence, segment);
+        }
+
+        if (segments.isEmpty()) {
+            roll();
+        } else {
+            current = segments.lastEntry().getValue();
+            channel = FileChannel.open(current.path, StandardOpenOption.WRITE);
+            channel.position(channel.size());
+        }
+        segmentCount.set(segments.size());
+
+        log.info("Journal de execuções: {} execuções restauradas de {} segmento(s) em {} ms",
+                restored, files.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+
+        running = true;
+        writerThread = new Thread(this::writeLoop, "execution-journal");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        if (writerThread == null) {
+            return;
+        }
+
+        // Sem interrupção: interromper a thread durante E/S fecharia o FileChannel
+        running = false;
+        writerThread.join();
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private Record encode(ToolExecution execution) throws IOException {
+        byte[] id = execution.getExecutionId().getBytes(StandardCharsets.US_ASCII);
+        byte[] json = writer.writeValueAsBytes(execution);
+
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_BYTES + Short.BYTES + id.length + json.length);
+        frame.putInt(Short.BYTES + id.length + json.length);
+        frame.putInt(0);
+        frame.putShort((short) id.length).put(id).put(json);
+
+        CRC32 crc = new CRC32();
+        crc.update(frame.array(), HEADER_BYTES, frame.capacity() - HEADER_BYTES);
+        frame.putInt(Integer.BYTES, (int) crc.getValue());
+
+        return new Record(execution.getExecutionId(), frame.array());
+    }
+
+    private void writeLoop() {
+        List<Record> batch = new ArrayList<>(config.getMaxBatchSize());
+        long compactionIntervalNanos = config.getCompactionInterval().toNanos();
+        long nextCompaction = System.nanoTime() + compactionIntervalNanos;
+
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    Record first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                    if (first != null) {
+                        // Tudo o que chegou enquanto o lote anterior era gravado entra no mesmo force
+                        batch.add(first);
+                        queue.drainTo(batch, config.getMaxBatchSize() - 1);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    commit(batch);
+                    batch.clear();
+                    lastError = null;
+                }
+
+                if (System.nanoTime() - nextCompaction >= 0) {
+                    compact();
+                    nextCompaction = System.nanoTime() + compactionIntervalNanos;
+                }
+            } catch (InterruptedException e) {
+                // Apenas stop() encerra o laço, após esvaziar a fila
+            } catch (IOException | RuntimeException e) {
+                log.error("Falha ao gravar lote de {} execuções no journal", batch.size(), e);
+                writeFailures.increment();
+                lastError = e.toString();
+                // O segmento pode ter ficado com um registro incompleto: o próximo lote vai para um segmento novo
+                closeChannel();
+
+                // Falhas de E/S (disco cheio, permissão) são retentadas; as demais não se resolvem sozinhas.
+                // No encerramento, o lote pendente é descartado em vez de prender o stop()
+                if (!(e instanceof IOException) || !running) {
+                    batch.clear();
+                } else {
+                    pause();
+                }
+            }
+        }
+    }
+
+    private void commit(List<Record> batch) throws IOException {
+        long startNanos = System.nanoTime();
+
+        int total = 0;
+        for (Record record : batch) {
+            total += record.frame.length;
+        }
+
+        if (channel == null || (channel.position() > 0 && channel.position() + total > config.getSegmentSize().toBytes())) {
+            roll();
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(total);
+        for (Record record : batch) {
+            buffer.put(record.frame);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (config.isFsync()) {
+            channel.force(false);
+        }
+        for (Record record : batch) {
+            current.include(record.executionId);
+        }
+
+        batchSize.record(batch.size());
+        commitTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void roll() throws IOException {
+        if (channel != null) {
+            try {
+                if (config.isFsync()) {
+                    channel.force(false);
+                }
+            } finally {
+                closeChannel();
+            }
+        }
+
+        long sequence = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+        FileChannel opened = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        opened.position(opened.size());
+        current = new Segment(sequence, path);
+        channel = opened;
+        segments.put(sequence, current);
+        segmentCount.set(segments.size());
+    }
+
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Falha ao fechar o segmento {} do journal", current.path, e);
+        }
+        channel = null;
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(POLL_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            // Apenas stop() encerra o laço
+        }
+    }
+
+    /**
+     * Remove segmentos cujas execuções já foram todas descartadas pelo {@link ExecutionStore}.
+     * O histórico é evictado do menor para o maior ID, então basta comparar o maior ID de cada segmento.
+     */
+    private void compact() throws IOException {
+        Optional<String> oldest = executionStore.oldestRetainedId();
+
+        if (current.maxId != null && oldest.map(id -> current.maxId.compareTo(id) < 0).orElse(true)) {
+            roll();
+        }
+
+        Iterator<Segment> iterator = segments.values().iterator();
+        while (iterator.hasNext()) {
+            Segment segment = iterator.next();
+            if (segment == current) {
+                break;
+            }
+            if (segment.maxId == null || oldest.map(id -> segment.maxId.compareTo(id) < 0).orElse(true)) {
+                Files.deleteIfExists(segment.path);
+                iterator.remove();
+                compactedSegments.increment();
+            }
+        }
+        segmentCount.set(segments.size());
+    }
+
+    private long replay(Segment segment, boolean last) throws IOException {
+        long cutoff = System.currentTimeMillis() - historyConfig.getMaxAge().toMillis();
+        long restored = 0;
+        long validEnd = 0;
+        long size;
+
+        try (FileChannel readChannel = FileChannel.open(segment.path, StandardOpenOption.READ)) {
+            size = readChannel.size();
+            MappedByteBuffer buffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CRC32 crc = new CRC32();
+
+            while (buffer.remaining() >= HEADER_BYTES) {
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length <= Short.BYTES || length > buffer.remaining()) {
+                    break;
+                }
+
+                byte[] payload = new byte[length];
+                buffer.get(payload);
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                validEnd = buffer.position();
+
+                int idLength = ((payload[0] & 0xFF) << 8) | (payload[1] & 0xFF);
+                String executionId = new String(payload, Short.BYTES, idLength, StandardCharsets.US_ASCII);
+                segment.include(executionId);
+
+                // Registros já expirados são descartados sem desserializar o JSON
+                if (ExecutionIdGenerator.timestampOf(executionId) < cutoff) {
+                    continue;
+                }
+
+                int jsonOffset = Short.BYTES + idLength;
+                executionStore.restore(reader.readValue(payload, jsonOffset, length - jsonOffset));
+                restored++;
+            }
+        }
+
+        if (validEnd < size) {
+            if (last) {
+                // Cauda incompleta de uma gravação interrompida: trunca para voltar a anexar a partir dela
+                log.warn("Journal {}: descartando {} bytes inválidos no final", segment.path, size - validEnd);
+                try (FileChannel truncateChannel = FileChannel.open(segment.path, StandardOpenOption.WRITE)) {
+                    truncateChannel.truncate(validEnd);
+                }
+            } else {
+                log.warn("Journal {}: registro corrompido na posição {}, restante do segmento ignorado",
+                        segment.path, validEnd);
+            }
+        }
+
+        return restored;
+    }
+
+    private static List<Path> listSegments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static final class Record {
+
+        private final String executionId;
+        private final byte[] frame;
+
+        private Record(String executionId, byte[] frame) {
+            this.executionId = executionId;
+            this.frame = frame;
+        }
+    }
+
+    private static final class Segment {
+
+        private final long sequence;
+        private final Path path;
+        private String maxId;
+
+        private Segment(long sequence, Path path) {
+            this.sequence = sequence;
+            this.path = path;
+        }
+
+        private void include(String executionId) {
+            if (maxId == null || executionId.compareTo(maxId) > 0) {
+                maxId = executionId;
+            }
+        }
+    }
+}
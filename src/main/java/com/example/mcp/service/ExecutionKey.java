@@ -0,0 +1,130 @@
+package com.example.mcp.service;
+
+import java.util.*;
+
+/**
+ * Chave canônica de uma execução: nome da tool mais os argumentos serializados
+ * com as chaves dos mapas ordenadas, de forma que argumentos equivalentes gerem a mesma chave.
+ */
+public final class ExecutionKey {
+    
+    private final String toolName;
+    private final String canonicalArguments;
+    private final int hash;
+    
+    private ExecutionKey(String toolName, String canonicalArguments) {
+        this.toolName = toolName;
+        this.canonicalArguments = canonicalArguments;
+        this.hash = 31 * toolName.hashCode() + canonicalArguments.hashCode();
+    }
+    
+    public static ExecutionKey of(String toolName, Map<String, Object> arguments) {
+        return of(toolName, arguments, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Chave da execução, ou {@code null} se a forma canônica dos argumentos passa de {@code maxLength}
+     * caracteres. A serialização é interrompida assim que o limite é excedido, então argumentos grandes
+     * (vetores longos, textos extensos) não chegam a ser copiados para a chave.
+     */
+    public static ExecutionKey of(String toolName, Map<String, Object> arguments, int maxLength) {
+        StringBuilder canonical = new StringBuilder(64);
+        if (!appendCanonical(canonical, arguments, maxLength)) {
+            return null;
+        }
+        return new ExecutionKey(toolName, canonical.toString());
+    }
+    
+    public String getToolName() {
+        return toolName;
+    }
+    
+    /**
+     * Tamanho estimado da chave em heap, contabilizado no limite de memória do cache de resultados.
+     */
+    public long estimatedBytes() {
+        return 32 + ObjectSizes.estimate(toolName) + ObjectSizes.estimate(canonicalArguments);
+    }
+    
+    private static boolean appendCanonical(StringBuilder out, Object value, int maxLength) {
+        if (out.length() > maxLength) {
+            return false;
+        }
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof String text) {
+            if (text.length() > maxLength - out.length()) {
+                return false;
+            }
+            out.append('"');
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '"' || c == '\\') {
+                    out.append('\\');
+                }
+                out.append(c);
+            }
+            out.append('"');
+        } else if (value instanceof Map<?, ?> map) {
+            List<String> keys = new ArrayList<>(map.size());
+            for (Object key : map.keySet()) {
+                keys.add(String.valueOf(key));
+            }
+            Collections.sort(keys);
+            
+            out.append('{');
+            for (int i = 0; i < keys.size(); i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                if (!appendCanonical(out, keys.get(i), maxLength)) {
+                    return false;
+                }
+                out.append(':');
+                if (!appendCanonical(out, map.get(keys.get(i)), maxLength)) {
+                    return false;
+                }
+            }
+            out.append('}');
+        } else if (value instanceof Collection<?> collection) {
+            out.append('[');
+            boolean first = true;
+            for (Object element : collection) {
+                if (!first) {
+                    out.append(',');
+                }
+                if (!appendCanonical(out, element, maxLength)) {
+                    return false;
+                }
+                first = false;
+            }
+            out.append(']');
+        } else {
+            out.append(value);
+        }
+        return out.length() <= maxLength;
+    }
+    
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof ExecutionKey key)) {
+            return false;
+        }
+        return hash == key.hash
+                && toolName.equals(key.toolName)
+                && canonicalArguments.equals(key.canonicalArguments);
+    }
+    
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+    
+    @Override
+    public String toString() {
+        return toolName + canonicalArguments;
+    }
+}
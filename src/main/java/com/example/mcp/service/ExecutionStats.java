@@ -0,0 +1,116 @@
+package com.example.mcp.service;
+
+import com.example.mcp.model.ToolExecution;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class ExecutionStats {
+
+    private static final int WINDOW_SECONDS = 15 * 60;
+    private static final String[] WINDOW_NAMES = {"1m", "5m", "15m"};
+    private static final int[] WINDOW_LENGTHS = {60, 5 * 60, WINDOW_SECONDS};
+
+    private final LongAdder total = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+    private final Map<String, LongAdder> byTool = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> byStatus = new ConcurrentHashMap<>();
+
+    // Um bucket por segundo; cada posição guarda o segundo (32 bits altos) e a contagem (32 bits baixos)
+    private final AtomicLongArray executionBuckets = new AtomicLongArray(WINDOW_SECONDS);
+    private final AtomicLongArray errorBuckets = new AtomicLongArray(WINDOW_SECONDS);
+
+    public void executionStarted() {
+        inFlight.increment();
+    }
+
+    public void executionFinished(ToolExecution execution) {
+        inFlight.decrement();
+        total.increment();
+        byTool.computeIfAbsent(execution.getToolName(), name -> new LongAdder()).increment();
+        byStatus.computeIfAbsent(execution.getStatus(), name -> new LongAdder()).increment();
+
+        long second = currentSecond();
+        increment(executionBuckets, second);
+        if (ToolExecution.STATUS_ERROR.equals(execution.getStatus())) {
+            increment(errorBuckets, second);
+        }
+    }
+
+    public void executionAbandoned() {
+        inFlight.decrement();
+    }
+
+    public long getTotal() {
+        return total.sum();
+    }
+
+    public long getInFlight() {
+        return inFlight.sum();
+    }
+
+    public Map<String, Long> getExecutionsByTool() {
+        return snapshot(byTool);
+    }
+
+    public Map<String, Long> getExecutionsByStatus() {
+        return snapshot(byStatus);
+    }
+
+    public Map<String, Object> getRollingWindows() {
+        long now = currentSecond();
+        Map<String, Object> windows = new LinkedHashMap<>();
+
+        for (int i = 0; i < WINDOW_NAMES.length; i++) {
+            int seconds = WINDOW_LENGTHS[i];
+            long executions = sum(executionBuckets, now, seconds);
+            long errors = sum(errorBuckets, now, seconds);
+            windows.put(WINDOW_NAMES[i], Map.of(
+                "executions", executions,
+                "errors", errors,
+                "throughput_per_sec", (double) executions / seconds
+            ));
+        }
+
+        return windows;
+    }
+
+    private static Map<String, Long> snapshot(Map<String, LongAdder> counters) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        counters.forEach((key, counter) -> result.put(key, counter.sum()));
+        return result;
+    }
+
+    private static void increment(AtomicLongArray buckets, long second) {
+        int index = (int) (second % WINDOW_SECONDS);
+        long tag = second << 32;
+
+        while (true) {
+            long current = buckets.get(index);
+            long updated = (current & 0xFFFFFFFF00000000L) == tag ? current + 1 : tag | 1;
+            if (buckets.compareAndSet(index, current, updated)) {
+                return;
+            }
+        }
+    }
+
+    private static long sum(AtomicLongArray buckets, long now, int seconds) {
+        long sum = 0;
+        for (long second = now - seconds + 1; second <= now; second++) {
+            long value = buckets.get((int) (second % WINDOW_SECONDS));
+            if ((value >>> 32) == second) {
+                sum += value & 0xFFFFFFFFL;
+            }
+        }
+        return sum;
+    }
+
+    private static long currentSecond() {
+        return (System.currentTimeMillis() / 1000) & 0xFFFFFFFFL;
+    }
+}
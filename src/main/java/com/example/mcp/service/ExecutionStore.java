@@ -0,0 +1,373 @@
+package com.example.mcp.service;
+
+import com.example.mcp.config.ExecutionHistoryConfig;
+import com.example.mcp.model.ExecutionPage;
+import com.example.mcp.model.ExecutionQuery;
+import com.example.mcp.model.ToolExecution;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class ExecutionStore {
+
+    private static final long ENTRY_OVERHEAD_BYTES = 256;
+
+    // IDs de execução são ordenáveis por tempo, então a ordem das chaves é a ordem de criação
+    private final ConcurrentNavigableMap<String, Entry> entries = new ConcurrentSkipListMap<>();
+    private final Map<String, IdIndex> byTool = new ConcurrentHashMap<>();
+    private final Map<String, IdIndex> byStatus = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong bytes = new AtomicLong();
+
+    private final ExecutionHistoryConfig config;
+    private final Counter evictedByCapacity;
+    private final Counter evictedByBytes;
+    private final Counter evictedByAge;
+
+    public ExecutionStore(ExecutionHistoryConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.evictedByCapacity = evictionCounter(meterRegistry, "capacity");
+        this.evictedByBytes = evictionCounter(meterRegistry, "bytes");
+        this.evictedByAge = evictionCounter(meterRegistry, "age");
+
+        Gauge.builder("mcp.executions.retained", size, AtomicInteger::get)
+                .description("Execuções retidas no histórico")
+                .register(meterRegistry);
+        Gauge.builder("mcp.executions.retained.bytes", bytes, AtomicLong::get)
+                .description("Tamanho estimado do histórico de execuções")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    private static Counter evictionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("mcp.executions.evicted")
+                .description("Execuções removidas do histórico pela política de retenção")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    public void save(ToolExecution execution) {
+        store(execution, System.currentTimeMillis());
+    }
+
+    /**
+     * Reinsere uma execução recuperada do journal; a idade para retenção é contada a partir da criação do ID.
+     */
+    public void restore(ToolExecution execution) {
+        store(execution, ExecutionIdGenerator.timestampOf(execution.getExecutionId()));
+    }
+
+    private void store(ToolExecution execution, long storedAt) {
+        long estimatedBytes = estimateExecutionSize(execution);
+        Entry entry = new Entry(execution, estimatedBytes, storedAt);
+        Entry previous = entries.putIfAbsent(execution.getExecutionId(), entry);
+
+        if (previous == null) {
+            size.incrementAndGet();
+            bytes.addAndGet(estimatedBytes);
+            index(byTool, execution.getToolName(), execution.getExecutionId());
+            reindexStatus(entry);
+            if (entries.get(execution.getExecutionId()) != entry) {
+                // Evicção concorrente removeu a entrada antes da indexação terminar
+                unindex(byTool, execution.getToolName(), execution.getExecutionId());
+            }
+        } else {
+            bytes.addAndGet(estimatedBytes - previous.bytes.getAndSet(estimatedBytes));
+            reindexStatus(previous);
+        }
+
+        evict();
+    }
+
+    public Optional<ToolExecution> findById(String executionId) {
+        evict();
+        Entry entry = entries.get(executionId);
+        return entry == null ? Optional.empty() : Optional.of(entry.execution);
+    }
+
+    public List<ToolExecution> findAll() {
+        evict();
+        List<ToolExecution> result = new ArrayList<>(size.get());
+        for (Entry entry : entries.values()) {
+            result.add(entry.execution);
+        }
+        return result;
+    }
+
+    public ExecutionPage query(ExecutionQuery query) {
+        evict();
+
+        if (query.getCursor() != null && !ExecutionIdGenerator.isValid(query.getCursor())) {
+            throw new IllegalArgumentException("Cursor inválido: " + query.getCursor());
+        }
+
+        NavigableSet<String> candidates = range(selectIndex(query), query, null);
+        int limit = query.getLimit();
+        List<ToolExecution> page = new ArrayList<>(Math.min(limit, 64));
+        String lastId = null;
+        boolean hasMore = false;
+
+        // Mais recentes primeiro: percorre o índice escolhido em ordem decrescente de ID
+        for (Iterator<String> ids = candidates.descendingIterator(); ids.hasNext(); ) {
+            String id = ids.next();
+            Entry entry = entries.get(id);
+            if (entry == null || !matches(entry.execution, query)) {
+                continue;
+            }
+            if (page.size() == limit) {
+                hasMore = true;
+                break;
+            }
+            page.add(entry.execution);
+            lastId = id;
+        }
+
+        return new ExecutionPage(page, hasMore ? lastId : null);
+    }
+
+    /**
+     * Percorre as execuções que atendem aos filtros em ordem crescente de ID, começando após {@code afterId}.
+     * O iterador é fracamente consistente e não copia o histórico.
+     */
+    public Iterator<ToolExecution> scan(ExecutionQuery query, String afterId) {
+        if (afterId != null && !ExecutionIdGenerator.isValid(afterId)) {
+            throw new IllegalArgumentException("ID de execução inválido: " + afterId);
+        }
+
+        Iterator<String> idIterator = range(selectIndex(query), query, afterId).iterator();
+        return new Iterator<>() {
+            private ToolExecution next = advance();
+
+            private ToolExecution advance() {
+                while (idIterator.hasNext()) {
+                    Entry entry = entries.get(idIterator.next());
+                    if (entry != null && matches(entry.execution, query)) {
+                        return entry.execution;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public ToolExecution next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                ToolExecution current = next;
+                next = advance();
+                return current;
+            }
+        };
+    }
+
+    /**
+     * Menor ID ainda retido após aplicar a política de retenção, ou vazio se o histórico estiver vazio.
+     */
+    public Optional<String> oldestRetainedId() {
+        evict();
+        Map.Entry<String, Entry> head = entries.firstEntry();
+        return head == null ? Optional.empty() : Optional.of(head.getKey());
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public long estimatedBytes() {
+        return bytes.get();
+    }
+
+    private NavigableSet<String> selectIndex(ExecutionQuery query) {
+        IdIndex toolIndex = query.getToolName() != null ? byTool.get(query.getToolName()) : null;
+        IdIndex statusIndex = query.getStatus() != null ? byStatus.get(query.getStatus()) : null;
+
+        if ((query.getToolName() != null && toolIndex == null) || (query.getStatus() != null && statusIndex == null)) {
+            return Collections.emptyNavigableSet();
+        }
+        if (toolIndex != null && statusIndex != null) {
+            return toolIndex.size() <= statusIndex.size() ? toolIndex.ids : statusIndex.ids;
+        }
+        if (toolIndex != null) {
+            return toolIndex.ids;
+        }
+        if (statusIndex != null) {
+            return statusIndex.ids;
+        }
+        return entries.keySet();
+    }
+
+    private static NavigableSet<String> range(NavigableSet<String> ids, ExecutionQuery query, String afterId) {
+        String lower = query.getStartedFrom() != null
+                ? ExecutionIdGenerator.lowerBound(toEpochMillis(query.getStartedFrom()))
+                : null;
+        boolean lowerInclusive = true;
+        if (afterId != null && (lower == null || afterId.compareTo(lower) >= 0)) {
+            lower = afterId;
+            lowerInclusive = false;
+        }
+
+        String upper = query.getStartedTo() != null
+                ? ExecutionIdGenerator.lowerBound(toEpochMillis(query.getStartedTo()))
+                : null;
+        if (query.getCursor() != null && (upper == null || query.getCursor().compareTo(upper) < 0)) {
+            upper = query.getCursor();
+        }
+
+        if (lower != null && upper != null) {
+            return lower.compareTo(upper) < 0
+                    ? ids.subSet(lower, lowerInclusive, upper, false)
+                    : Collections.emptyNavigableSet();
+        }
+        if (lower != null) {
+            return ids.tailSet(lower, lowerInclusive);
+        }
+        if (upper != null) {
+            return ids.headSet(upper, false);
+        }
+        return ids;
+    }
+
+    private static boolean matches(ToolExecution execution, ExecutionQuery query) {
+        if (query.getToolName() != null && !query.getToolName().equals(execution.getToolName())) {
+            return false;
+        }
+        if (query.getStatus() != null && !query.getStatus().equals(execution.getStatus())) {
+            return false;
+        }
+        LocalDateTime startedAt = execution.getStartedAt();
+        if (query.getStartedFrom() != null && startedAt.isBefore(query.getStartedFrom())) {
+            return false;
+        }
+        return query.getStartedTo() == null || startedAt.isBefore(query.getStartedTo());
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private void reindexStatus(Entry entry) {
+        String id = entry.execution.getExecutionId();
+        synchronized (entry) {
+            String status = entry.execution.getStatus();
+            if (entry.removed || Objects.equals(status, entry.indexedStatus)) {
+                return;
+            }
+            unindex(byStatus, entry.indexedStatus, id);
+            index(byStatus, status, id);
+            entry.indexedStatus = status;
+        }
+    }
+
+    private static void index(Map<String, IdIndex> index, String key, String id) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new IdIndex()).add(id);
+        }
+    }
+
+    private static void unindex(Map<String, IdIndex> index, String key, String id) {
+        IdIndex ids = key != null ? index.get(key) : null;
+        if (ids != null) {
+            ids.remove(id);
+        }
+    }
+
+    private void evict() {
+        long maxBytes = config.getMaxBytes().toBytes();
+        long cutoff = System.currentTimeMillis() - config.getMaxAge().toMillis();
+
+        // Execuções na fila ou em andamento ficam retidas até terminar: a evicção passa por elas
+        // e segue para as seguintes, que são poucas enquanto as filas de execução são limitadas
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Entry> head = iterator.next();
+            Entry oldest = head.getValue();
+            Counter reason;
+            if (size.get() > config.getMaxEntries()) {
+                reason = evictedByCapacity;
+            } else if (bytes.get() > maxBytes) {
+                reason = evictedByBytes;
+            } else if (oldest.storedAt < cutoff) {
+                reason = evictedByAge;
+            } else {
+                break;
+            }
+            if (!oldest.execution.isFinished()) {
+                continue;
+            }
+
+            // Apenas a thread que remover a entrada contabiliza a evicção
+            if (entries.remove(head.getKey(), oldest)) {
+                size.decrementAndGet();
+                bytes.addAndGet(-oldest.bytes.get());
+                unindex(byTool, oldest.execution.getToolName(), head.getKey());
+                synchronized (oldest) {
+                    oldest.removed = true;
+                    unindex(byStatus, oldest.indexedStatus, head.getKey());
+                }
+                reason.increment();
+            }
+        }
+    }
+
+    private static long estimateExecutionSize(ToolExecution execution) {
+        return ENTRY_OVERHEAD_BYTES
+                + ObjectSizes.estimate(execution.getToolName())
+                + ObjectSizes.estimate(execution.getArguments())
+                + ObjectSizes.estimate(execution.getResult())
+                + ObjectSizes.estimate(execution.getErrorMessage());
+    }
+
+    private static final class Entry {
+
+        private final ToolExecution execution;
+        private final AtomicLong bytes;
+        private final long storedAt;
+        private String indexedStatus;
+        private boolean removed;
+
+        private Entry(ToolExecution execution, long bytes, long storedAt) {
+            this.execution = execution;
+            this.bytes = new AtomicLong(bytes);
+            this.storedAt = storedAt;
+        }
+    }
+
+    private static final class IdIndex {
+
+        private final NavigableSet<String> ids = new ConcurrentSkipListSet<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        private void add(String id) {
+            if (ids.add(id)) {
+                size.incrementAndGet();
+            }
+        }
+
+        private void remove(String id) {
+            if (ids.remove(id)) {
+                size.decrementAndGet();
+            }
+        }
+
+        private int size() {
+            return size.get();
+        }
+    }
+}
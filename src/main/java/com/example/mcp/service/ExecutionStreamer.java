@@ -0,0 +1,309 @@
+package com.example.mcp.service;
+
+import com.example.mcp.executor.ExecutionListener;
+import com.example.mcp.model.ExecutionPriority;
+import com.example.mcp.model.ToolExecution;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Transmite uma execução via Server-Sent Events: {@code accepted} com o ID, {@code progress} e {@code chunk}
+ * conforme o executor os produz e, por fim, {@code result} com a {@link ToolExecution} concluída.
+ *
+ * Quem produz eventos (a thread da execução, o watchdog de prazos e o heartbeat) apenas os enfileira numa fila
+ * limitada por stream; a escrita de rede fica com uma tarefa de escrita por stream, fora de qualquer lock.
+ * Com a fila cheia, progresso e heartbeats são descartados, e a thread da execução espera por espaço para um
+ * chunk por no máximo alguns segundos: depois disso o stream é encerrado e a execução cancelada.
+ * O evento final não disputa espaço na fila.
+ */
+@Component
+public class ExecutionStreamer {
+
+    private static final long HEARTBEAT_SECONDS = 10;
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int STREAM_BUFFER_EVENTS = 256;
+    private static final long CHUNK_OFFER_TIMEOUT_SECONDS = 5;
+    private static final Object HEARTBEAT = new Object();
+
+    @Autowired
+    private ToolService toolService;
+
+    private final ObjectWriter writer;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final ExecutorService writers;
+
+    public ExecutionStreamer(ObjectMapper objectMapper) {
+        // Cada evento precisa caber numa única linha "data:", então o JSON não pode ser indentado
+        this.writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        // O agendador apenas enfileira heartbeats; quem pode bloquear em rede são as threads de escrita
+        this.scheduler = new ScheduledThreadPoolExecutor(1, daemon("sse-heartbeat"));
+        this.scheduler.setRemoveOnCancelPolicy(true);
+        this.writers = Executors.newCachedThreadPool(daemon("sse-writer"));
+    }
+
+    /**
+     * Inicia a execução e retorna o emitter já com o evento {@code accepted}. Erros de validação ou de fila
+     * cheia são lançados antes de qualquer evento, para que o controller responda com o status HTTP adequado.
+     */
+    public SseEmitter stream(String toolName, Map<String, Object> arguments, Duration timeout,
+                             ExecutionPriority priority) {
+        // Sem timeout próprio: o prazo da execução garante o evento final e o encerramento do stream
+        SseEmitter emitter = new SseEmitter(0L);
+        Stream stream = new Stream(emitter);
+
+        ToolExecution execution = toolService.executeToolStreaming(toolName, arguments, timeout, priority, stream);
+        stream.start(execution);
+        return emitter;
+    }
+
+    /**
+     * Stream já encerrado contendo apenas um evento {@code error}, para falhas detectadas antes da execução.
+     */
+    public SseEmitter error(Map<String, Object> body) {
+        SseEmitter emitter = new SseEmitter(0L);
+        try {
+            emitter.send(SseEmitter.event().name("error").data(writer.writeValueAsString(body)));
+            emitter.complete();
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        writers.shutdownNow();
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private final class Stream implements ExecutionListener {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Object> outgoing = new ArrayBlockingQueue<>(STREAM_BUFFER_EVENTS);
+        private final AtomicBoolean writing = new AtomicBoolean();
+        private final Object chunkLock = new Object();
+        private volatile String executionId;
+        private volatile ScheduledFuture<?> heartbeat;
+        private volatile boolean started;
+        private volatile boolean closed;
+        private volatile SseEmitter.SseEventBuilder result;
+        private long eventId;
+        private int chunkIndex;
+        private volatile long lastProgressNanos;
+
+        private Stream(SseEmitter emitter) {
+            this.emitter = emitter;
+            emitter.onCompletion(this::disconnected);
+            emitter.onTimeout(this::disconnected);
+            emitter.onError(error -> disconnected());
+        }
+
+        private void start(ToolExecution execution) {
+            executionId = execution.getExecutionId();
+            try {
+                // O emitter ainda não foi devolvido ao Spring, então este envio só é guardado em memória
+                emitter.send(event("accepted", Map.of(
+                    "execution_id", executionId,
+                    "status", "accepted"
+                )).id(String.valueOf(++eventId)));
+            } catch (IOException | IllegalStateException e) {
+                close(e);
+                return;
+            }
+            // Eventos produzidos antes do "accepted" já estão na fila, na ordem em que chegaram
+            started = true;
+            heartbeat = scheduler.scheduleAtFixedRate(this::enqueueHeartbeat,
+                    HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+            if (closed) {
+                stopHeartbeat();
+            }
+            scheduleWrite();
+        }
+
+        @Override
+        public void onProgress(double progress, String message) {
+            long now = System.nanoTime();
+            if (progress < 1 && now - lastProgressNanos < PROGRESS_INTERVAL_NANOS) {
+                return;
+            }
+            lastProgressNanos = now;
+
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("progress", progress);
+            if (message != null) {
+                data.put("message", message);
+            }
+            // Progresso é descartável: com a fila cheia, o próximo evento o substitui
+            enqueue(event("progress", data));
+        }
+
+        @Override
+        public void onChunk(Object chunk) {
+            synchronized (chunkLock) {
+                if (closed) {
+                    return;
+                }
+                SseEmitter.SseEventBuilder event = event("chunk", Map.of(
+                    "index", chunkIndex++,
+                    "content", chunk
+                ));
+                try {
+                    // Espera na thread da execução, nunca no agendador compartilhado
+                    if (!outgoing.offer(event, CHUNK_OFFER_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                        close(new IllegalStateException("Cliente não acompanha o stream da execução " + executionId));
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    // Execução cancelada enquanto esperava por espaço; o próximo emit lança CancellationException
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            scheduleWrite();
+        }
+
+        @Override
+        public void onFinished(ToolExecution execution) {
+            // Pode ser chamado pelo watchdog de prazos: só registra o evento final e agenda a escrita
+            result = event("result", Map.of(
+                "execution", execution,
+                "status", execution.getStatus()
+            ));
+            scheduleWrite();
+        }
+
+        private void enqueueHeartbeat() {
+            // Com eventos na fila a conexão já está ativa; o heartbeat só cobre períodos ociosos
+            if (outgoing.isEmpty()) {
+                enqueue(HEARTBEAT);
+            }
+        }
+
+        private void enqueue(Object event) {
+            if (!closed && outgoing.offer(event)) {
+                scheduleWrite();
+            }
+        }
+
+        private void scheduleWrite() {
+            if (!started || closed || !writing.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                writers.execute(this::write);
+            } catch (RejectedExecutionException e) {
+                writing.set(false);
+            }
+        }
+
+        /**
+         * Esvazia a fila no emitter. No máximo uma escrita por stream está ativa, o que preserva a ordem
+         * dos eventos; nenhum lock é mantido durante o envio.
+         */
+        private void write() {
+            try {
+                Object event;
+                while (!closed && (event = outgoing.poll()) != null) {
+                    send(event);
+                }
+                SseEmitter.SseEventBuilder finalEvent = result;
+                if (!closed && finalEvent != null && outgoing.isEmpty()) {
+                    send(finalEvent);
+                    complete();
+                }
+            } finally {
+                writing.set(false);
+            }
+            // Um evento pode ter chegado entre o último poll e a liberação da escrita
+            if (!closed && (!outgoing.isEmpty() || result != null)) {
+                scheduleWrite();
+            }
+        }
+
+        private void send(Object event) {
+            try {
+                if (event == HEARTBEAT) {
+                    emitter.send(SseEmitter.event().comment("keepalive"));
+                } else {
+                    emitter.send(((SseEmitter.SseEventBuilder) event).id(String.valueOf(++eventId)));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Cliente desconectou: encerra o stream e cancela a execução
+                close(e);
+            }
+        }
+
+        private void complete() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+            }
+            outgoing.clear();
+            stopHeartbeat();
+            emitter.complete();
+        }
+
+        private void close(Exception cause) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+            }
+            outgoing.clear();
+            stopHeartbeat();
+            emitter.completeWithError(cause);
+            cancelExecution();
+        }
+
+        private void disconnected() {
+            closed = true;
+            outgoing.clear();
+            stopHeartbeat();
+            cancelExecution();
+        }
+
+        private void cancelExecution() {
+            if (executionId != null) {
+                toolService.cancelExecution(executionId);
+            }
+        }
+
+        private void stopHeartbeat() {
+            ScheduledFuture<?> task = heartbeat;
+            if (task != null) {
+                task.cancel(false);
+            }
+        }
+
+        private SseEmitter.SseEventBuilder event(String name, Object data) {
+            try {
+                return SseEmitter.event().name(name).data(writer.writeValueAsString(data));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Falha ao serializar evento '" + name + "'", e);
+            }
+        }
+    }
+}
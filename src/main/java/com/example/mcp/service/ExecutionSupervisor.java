@@ -0,0 +1,215 @@
+package com.example.mcp.service;
+
+import com.example.mcp.executor.ExecutionContext;
+import com.example.mcp.executor.ExecutionListener;
+import com.example.mcp.model.ToolExecution;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Acompanha as execuções em andamento, aplicando prazos e atendendo pedidos de cancelamento.
+ *
+ * Ao cancelar ou expirar, a execução recebe o status final imediatamente: se ainda estiver na fila
+ * do pool ela é removida, liberando a vaga; se estiver rodando, a thread é interrompida.
+ */
+@Component
+public class ExecutionSupervisor {
+
+    private final Map<String, Handle> active = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor watchdog;
+    private final ExecutorService abandonments;
+
+    public ExecutionSupervisor(MeterRegistry meterRegistry) {
+        this.watchdog = new ScheduledThreadPoolExecutor(1, daemon("execution-watchdog"));
+        // Concluir uma execução removida da fila grava no store e no journal, que pode esperar por espaço:
+        // isso roda fora do watchdog, para não atrasar os demais prazos
+        this.abandonments = Executors.newSingleThreadExecutor(daemon("execution-abandoned"));
+        // Prazos cancelados saem da fila do watchdog em vez de aguardar o disparo
+        this.watchdog.setRemoveOnCancelPolicy(true);
+
+        Gauge.builder("mcp.executions.active", active, Map::size)
+                .description("Execuções em andamento acompanhadas pelo supervisor")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra uma execução com o prazo informado. {@code onAbandoned} conclui a execução quando
+     * ela é removida da fila antes de começar, já que nesse caso nenhuma thread chegará a executá-la.
+     * Ele roda numa thread própria do supervisor, então pode bloquear brevemente.
+     */
+    public Handle register(ToolExecution execution, Duration timeout, Consumer<ToolExecution> onAbandoned) {
+        return register(execution, timeout, ExecutionListener.NONE, onAbandoned);
+    }
+
+    public Handle register(ToolExecution execution, Duration timeout, ExecutionListener listener,
+                           Consumer<ToolExecution> onAbandoned) {
+        Handle handle = new Handle(execution, new ExecutionContext(execution.getExecutionId(), timeout, listener), onAbandoned);
+        active.put(execution.getExecutionId(), handle);
+        handle.timeoutTask = watchdog.schedule(
+                () -> handle.abort(ToolExecution.STATUS_TIMED_OUT, "Prazo de execução excedido (" + timeout.toMillis() + " ms)"),
+                timeout.toNanos(), TimeUnit.NANOSECONDS);
+        return handle;
+    }
+
+    /**
+     * Cancela uma execução em andamento. Retorna a execução se ela estava sendo acompanhada,
+     * com o status resultante (cancelada, ou o status final que já havia alcançado).
+     */
+    public Optional<ToolExecution> cancel(String executionId) {
+        Handle handle = active.get(executionId);
+        if (handle == null) {
+            return Optional.empty();
+        }
+        handle.abort(ToolExecution.STATUS_CANCELLED, "Execução cancelada");
+        return Optional.of(handle.execution);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        abandonments.shutdown();
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public final class Handle {
+
+        private final ToolExecution execution;
+        private final ExecutionContext context;
+        private final Consumer<ToolExecution> onAbandoned;
+        private volatile ScheduledFuture<?> timeoutTask;
+        private ExecutorService pool;
+        private Runnable task;
+        private Thread thread;
+        private boolean released;
+        private boolean notified;
+        private boolean abandoned;
+
+        private Handle(ToolExecution execution, ExecutionContext context, Consumer<ToolExecution> onAbandoned) {
+            this.execution = execution;
+            this.context = context;
+            this.onAbandoned = onAbandoned;
+        }
+
+        public ExecutionContext getContext() {
+            return context;
+        }
+
+        /**
+         * Associa a tarefa enfileirada no pool, permitindo removê-la da fila em caso de cancelamento.
+         */
+        public synchronized void bind(ExecutorService pool, Runnable task) {
+            this.pool = pool;
+            this.task = task;
+        }
+
+        /**
+         * Chamado pela thread que vai executar a tool. Retorna {@code false} se a execução já foi
+         * cancelada ou expirou; nesse caso o registro é liberado e a tool não deve ser executada.
+         */
+        public synchronized boolean enter() {
+            if (execution.isFinished()) {
+                release();
+                return false;
+            }
+            thread = Thread.currentThread();
+            return true;
+        }
+
+        /**
+         * Chamado pela thread da execução ao terminar, sempre após um {@link #enter()} bem-sucedido.
+         */
+        public void exit() {
+            synchronized (this) {
+                thread = null;
+                release();
+            }
+            // Descarta uma interrupção de cancelamento que tenha chegado após o fim da tool
+            Thread.interrupted();
+        }
+
+        /**
+         * Notifica o listener do status final, uma única vez. O listener não deve bloquear,
+         * pois pode ser chamado pela thread do watchdog.
+         */
+        public void notifyFinished() {
+            synchronized (this) {
+                if (notified) {
+                    return;
+                }
+                notified = true;
+            }
+            context.getListener().onFinished(execution);
+        }
+
+        public synchronized void release() {
+            if (released) {
+                return;
+            }
+            released = true;
+            active.remove(execution.getExecutionId(), this);
+            ScheduledFuture<?> timeout = timeoutTask;
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+        }
+
+        private boolean abort(String status, String reason) {
+            if (!markAborted(status, reason)) {
+                return false;
+            }
+            // Quem acompanha a execução recebe o status final sem esperar a thread da tool terminar
+            notifyFinished();
+            if (isAbandoned()) {
+                try {
+                    abandonments.execute(() -> onAbandoned.accept(execution));
+                } catch (RejectedExecutionException e) {
+                    // Supervisor encerrando: conclui na própria thread
+                    onAbandoned.accept(execution);
+                }
+            }
+            return true;
+        }
+
+        private synchronized boolean isAbandoned() {
+            return abandoned;
+        }
+
+        private synchronized boolean markAborted(String status, String reason) {
+            if (released) {
+                return false;
+            }
+
+            boolean aborted = ToolExecution.STATUS_TIMED_OUT.equals(status)
+                    ? execution.markTimedOut(reason)
+                    : execution.markCancelled(reason);
+            if (!aborted) {
+                return false;
+            }
+
+            context.cancel();
+            if (thread != null) {
+                thread.interrupt();
+            } else if (pool instanceof ThreadPoolExecutor threadPool && threadPool.remove(task)) {
+                // A conclusão fica para depois do lock, fora da thread que abortou
+                abandoned = true;
+                release();
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package com.example.mcp.service;
+
+import com.example.mcp.config.SchedulerConfig;
+import com.example.mcp.model.ExecutionPriority;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fila dos pools de execução com classes de prioridade e enfileiramento justo entre tools.
+ *
+ * Cada classe ({@link ExecutionPriority}) tem fila e capacidade próprias e recebe dos workers uma fatia
+ * proporcional ao seu peso (stride scheduling), de modo que chamadas de baixa prioridade avançam mesmo sob carga.
+ * Dentro de uma classe, as tools se alternam por weighted fair queuing (SCFQ): uma rajada de chamadas
+ * a uma tool não atrasa as demais além da sua parcela.
+ */
+public class FairExecutionQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparingDouble((Entry entry) -> entry.tag)
+            .thenComparingLong(entry -> entry.sequence);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Lane[] lanes;
+    private volatile int count;
+    private long sequence;
+    private double systemPass;
+
+    public FairExecutionQueue(String poolName, SchedulerConfig config, MeterRegistry meterRegistry) {
+        ExecutionPriority[] priorities = ExecutionPriority.values();
+        this.lanes = new Lane[priorities.length];
+        for (ExecutionPriority priority : priorities) {
+            SchedulerConfig.PriorityClass priorityClass = config.forPriority(priority);
+            if (priorityClass.getWeight() <= 0 || priorityClass.getCapacity() <= 0) {
+                throw new IllegalArgumentException("Peso e capacidade da classe " + priority + " devem ser positivos");
+            }
+
+            Lane lane = new Lane(priorityClass.getWeight(), priorityClass.getCapacity(),
+                    Timer.builder("mcp.tools.scheduler.wait")
+                            .description("Tempo de espera das execuções na fila, por classe de prioridade")
+                            .tag("pool", poolName)
+                            .tag("priority", priority.name().toLowerCase())
+                            .publishPercentiles(0.5, 0.95, 0.99)
+                            .register(meterRegistry));
+            lanes[priority.ordinal()] = lane;
+
+            Gauge.builder("mcp.tools.scheduler.depth", lane, l -> l.size)
+                    .description("Execuções aguardando na fila, por classe de prioridade")
+                    .tag("pool", poolName)
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public boolean offer(Runnable task) {
+        Objects.requireNonNull(task);
+        lock.lock();
+        try {
+            return enqueue(task);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(Runnable task, long timeout, TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(task);
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (!enqueue(task)) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(Runnable task) throws InterruptedException {
+        Objects.requireNonNull(task);
+        lock.lockInterruptibly();
+        try {
+            while (!enqueue(task)) {
+                notFull.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll() {
+        lock.lock();
+        try {
+            return count == 0 ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable peek() {
+        lock.lock();
+        try {
+            Lane lane = nextLane();
+            return lane == null ? null : lane.entries.peek().task;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object task) {
+        if (task == null) {
+            return false;
+        }
+        lock.lock();
+        try {
+            for (Lane lane : lanes) {
+                if (lane.entries.removeIf(entry -> entry.task == task)) {
+                    lane.size = lane.entries.size();
+                    count--;
+                    notFull.signal();
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        lock.lock();
+        try {
+            int remaining = 0;
+            for (Lane lane : lanes) {
+                remaining += lane.capacity - lane.entries.size();
+            }
+            return remaining;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> target) {
+        return drainTo(target, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> target, int maxElements) {
+        Objects.requireNonNull(target);
+        if (target == this) {
+            throw new IllegalArgumentException();
+        }
+        lock.lock();
+        try {
+            int drained = 0;
+            while (drained < maxElements && count > 0) {
+                target.add(dequeue());
+                drained++;
+            }
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Iterador sobre uma cópia da fila, na ordem interna de cada classe; {@code remove()} retira a tarefa da fila.
+     */
+    @Override
+    public Iterator<Runnable> iterator() {
+        List<Runnable> snapshot = new ArrayList<>();
+        lock.lock();
+        try {
+            for (Lane lane : lanes) {
+                for (Entry entry : lane.entries) {
+                    snapshot.add(entry.task);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        Iterator<Runnable> iterator = snapshot.iterator();
+        return new Iterator<>() {
+            private Runnable last;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Runnable next() {
+                last = iterator.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                FairExecutionQueue.this.remove(last);
+                last = null;
+            }
+        };
+    }
+
+    private boolean enqueue(Runnable task) {
+        // Tarefas sem classificação (ex.: workers de lotes) entram na classe normal como um fluxo próprio
+        Task classified = task instanceof Task t ? t : null;
+        ExecutionPriority priority = classified != null ? classified.priority : ExecutionPriority.NORMAL;
+        String flow = classified != null ? classified.flow : "";
+        double weight = classified != null ? classified.weight : 1;
+
+        Lane lane = lanes[priority.ordinal()];
+        if (lane.entries.size() >= lane.capacity) {
+            return false;
+        }
+
+        if (lane.entries.isEmpty()) {
+            // Uma classe que estava ociosa não acumula crédito pelo tempo parada
+            lane.pass = Math.max(lane.pass, systemPass);
+        }
+
+        double start = Math.max(lane.virtualTime, lane.flowTags.getOrDefault(flow, 0d));
+        double tag = start + 1 / weight;
+        lane.flowTags.put(flow, tag);
+        lane.entries.add(new Entry(task, tag, sequence++, System.nanoTime()));
+        lane.size = lane.entries.size();
+        count++;
+        notEmpty.signal();
+        return true;
+    }
+
+    private Runnable dequeue() {
+        Lane lane = nextLane();
+        Entry entry = lane.entries.poll();
+        lane.size = lane.entries.size();
+        count--;
+
+        lane.virtualTime = entry.tag;
+        systemPass = lane.pass;
+        lane.pass += 1.0 / lane.weight;
+        if (lane.entries.isEmpty()) {
+            // Sem tarefas pendentes nenhuma tool tem atraso a compensar
+            lane.flowTags.clear();
+        }
+
+        lane.waitTimer.record(System.nanoTime() - entry.enqueuedNanos, TimeUnit.NANOSECONDS);
+        notFull.signal();
+        return entry.task;
+    }
+
+    private Lane nextLane() {
+        Lane next = null;
+        // Percorre da maior para a menor prioridade, que vence em caso de empate
+        for (int i = lanes.length - 1; i >= 0; i--) {
+            Lane lane = lanes[i];
+            if (!lane.entries.isEmpty() && (next == null || lane.pass < next.pass)) {
+                next = lane;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Tarefa de execução com a classe de prioridade, a tool (fluxo do enfileiramento justo) e o peso da tool.
+     */
+    public static final class Task implements Runnable {
+
+        private final String flow;
+        private final ExecutionPriority priority;
+        private final double weight;
+        private final Runnable delegate;
+
+        public Task(String flow, ExecutionPriority priority, double weight, Runnable delegate) {
+            if (weight <= 0) {
+                throw new IllegalArgumentException("O peso deve ser positivo");
+            }
+            this.flow = flow;
+            this.priority = priority;
+            this.weight = weight;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void run() {
+            delegate.run();
+        }
+    }
+
+    private static final class Lane {
+
+        private final int weight;
+        private final int capacity;
+        private final Timer waitTimer;
+        private final PriorityQueue<Entry> entries = new PriorityQueue<>(ORDER);
+        private final Map<String, Double> flowTags = new HashMap<>();
+        private double virtualTime;
+        private double pass;
+        private volatile int size;
+
+        private Lane(int weight, int capacity, Timer waitTimer) {
+            this.weight = weight;
+            this.capacity = capacity;
+            this.waitTimer = waitTimer;
+        }
+    }
+
+    private static final class Entry {
+
+        private final Runnable task;
+        private final double tag;
+        private final long sequence;
+        private final long enqueuedNanos;
+
+        private Entry(Runnable task, double tag, long sequence, long enqueuedNanos) {
+            this.task = task;
+            this.tag = tag;
+            this.sequence = sequence;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.mcp.service;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Estimativa aproximada do espaço ocupado em heap por argumentos e resultados de tools,
+ * usada pelos limites de memória do histórico de execuções e do cache de resultados.
+ */
+final class ObjectSizes {
+
+    private ObjectSizes() {
+    }
+
+    static long estimate(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof CharSequence text) {
+            return 40 + 2L * text.length();
+        }
+        if (value instanceof Map<?, ?> map) {
+            long total = 48;
+            for (Map.Entry<?, ?> mapEntry : map.entrySet()) {
+                total += 32 + estimate(mapEntry.getKey()) + estimate(mapEntry.getValue());
+            }
+            return total;
+        }
+        if (value instanceof double[] values) {
+            return 16 + 8L * values.length;
+        }
+        if (value instanceof Collection<?> collection) {
+            long total = 40;
+            for (Object element : collection) {
+                total += 8 + estimate(element);
+            }
+            return total;
+        }
+        return 16;
+    }
+}
@@ -0,0 +1,272 @@
+package com.example.mcp.service;
+
+import com.example.mcp.config.ResourceCacheConfig;
+import com.example.mcp.model.Resource;
+import com.example.mcp.model.ResourceDescriptor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache da resposta serializada de {@code /api/resources/by-uri}, nas variantes identidade e gzip.
+ *
+ * Cada entrada guarda a versão do resource em que foi gerada e deixa de valer quando o resource é
+ * atualizado. O ETag vem do hash do conteúdo e da versão do descritor, então requisições condicionais
+ * são respondidas sem serializar o resource. O total de bytes é limitado; a remoção segue a ordem de inserção com segunda chance
+ * para entradas lidas desde a última passagem, o que mantém os resources mais acessados em cache.
+ */
+@Component
+public class ResourceRepresentationCache {
+
+    private final Map<String, Representation> entries = new ConcurrentHashMap<>();
+    // Ordem de inserção para a remoção; guardada pelo próprio monitor, enquanto as leituras usam só entries
+    private final LinkedHashMap<String, Representation> order = new LinkedHashMap<>();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private final ResourceService resourceService;
+    private final ResourceCacheConfig config;
+    private final ObjectMapper objectMapper;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictions;
+
+    public ResourceRepresentationCache(ResourceService resourceService, ResourceCacheConfig config,
+                                       ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.resourceService = resourceService;
+        this.config = config;
+        this.objectMapper = objectMapper;
+        this.hitCounter = requestCounter(meterRegistry, "hit");
+        this.missCounter = requestCounter(meterRegistry, "miss");
+        this.evictions = Counter.builder("mcp.resources.cache.evictions")
+                .description("Representações removidas do cache de resources por falta de espaço")
+                .register(meterRegistry);
+
+        Gauge.builder("mcp.resources.cache.size", bytes, AtomicLong::get)
+                .description("Bytes ocupados pelas representações em cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("mcp.resources.cache.hit_ratio", this, ResourceRepresentationCache::hitRatio)
+                .description("Fração das leituras de resources atendidas pelo cache")
+                .register(meterRegistry);
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("mcp.resources.cache.requests")
+                .description("Leituras de resources pelo cache de representações")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Descritor atual do resource, sem serializá-lo; suficiente para avaliar If-None-Match com
+     * {@link #matchingETag}. Um resource removido tem sua representação descartada do cache.
+     */
+    public Optional<ResourceDescriptor> describe(String uri) {
+        Optional<ResourceDescriptor> descriptor = resourceService.getDescriptor(uri);
+        if (descriptor.isEmpty() && entries.containsKey(uri)) {
+            synchronized (order) {
+                Representation removed = entries.remove(uri);
+                if (removed != null) {
+                    order.remove(uri);
+                    bytes.addAndGet(-removed.size());
+                }
+            }
+        }
+        return descriptor;
+    }
+
+    /**
+     * Representação do resource na versão do descritor, reaproveitada do cache se ainda for a vigente.
+     */
+    public Optional<Representation> get(ResourceDescriptor descriptor) {
+        String uri = descriptor.getUri();
+        Representation cached = entries.get(uri);
+        if (cached != null && cached.version == descriptor.getVersion()) {
+            cached.referenced = true;
+            hits.incrementAndGet();
+            hitCounter.increment();
+            return Optional.of(cached);
+        }
+
+        misses.incrementAndGet();
+        missCounter.increment();
+        while (true) {
+            Optional<Resource> resource = resourceService.getResourceByUri(uri);
+            if (resource.isEmpty()) {
+                return Optional.empty();
+            }
+
+            // O serviço publica o descritor antes do resource: se o descritor continua o mesmo depois de ler
+            // o resource, o conteúdo lido é o dessa versão. Caso contrário, repete com o descritor atual
+            Optional<ResourceDescriptor> current = resourceService.getDescriptor(uri);
+            if (current.isEmpty()) {
+                return Optional.empty();
+            }
+            if (current.get().getVersion() != descriptor.getVersion()) {
+                descriptor = current.get();
+                continue;
+            }
+
+            Representation representation = serialize(descriptor, resource.get());
+            if (config.isEnabled()) {
+                put(representation);
+            }
+            return Optional.of(representation);
+        }
+    }
+
+    /**
+     * ETag forte do resource; cada codificação tem o seu, derivados do hash do conteúdo e da versão,
+     * já calculados na escrita do resource.
+     */
+    public static String eTag(ResourceDescriptor descriptor, boolean gzipped) {
+        String tag = descriptor.getContentHash() + "-" + descriptor.getVersion();
+        return gzipped ? "\"" + tag + "-gzip\"" : "\"" + tag + "\"";
+    }
+
+    /**
+     * Avalia If-None-Match: retorna o ETag informado que corresponde à versão atual, em qualquer das
+     * codificações (comparação fraca, como exige o cabeçalho), ou {@code null} se nenhum corresponde.
+     */
+    public static String matchingETag(ResourceDescriptor descriptor, String ifNoneMatch) {
+        String identity = eTag(descriptor, false);
+        String gzipped = eTag(descriptor, true);
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*")) {
+                return identity;
+            }
+            if (candidate.equals(identity) || candidate.equals(gzipped)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    public double hitRatio() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    private void put(Representation representation) {
+        long maxBytes = config.getMaxSize().toBytes();
+        if (representation.size() > maxBytes) {
+            return;
+        }
+
+        synchronized (order) {
+            // Uma leitura concorrente que viu uma versão mais antiga não sobrescreve a mais nova
+            Representation existing = entries.get(representation.uri);
+            if (existing != null && existing.version >= representation.version) {
+                return;
+            }
+            entries.put(representation.uri, representation);
+            if (existing != null) {
+                order.remove(existing.uri);
+                bytes.addAndGet(-existing.size());
+            }
+            order.put(representation.uri, representation);
+            bytes.addAndGet(representation.size());
+            evict(maxBytes);
+        }
+    }
+
+    private void evict(long maxBytes) {
+        // Cada entrada ganha no máximo uma segunda chance por passagem, então o laço termina
+        int secondChances = order.size();
+        while (bytes.get() > maxBytes && !order.isEmpty()) {
+            Iterator<Representation> oldest = order.values().iterator();
+            Representation head = oldest.next();
+            oldest.remove();
+            if (head.referenced && secondChances-- > 0) {
+                head.referenced = false;
+                order.put(head.uri, head);
+                continue;
+            }
+            entries.remove(head.uri, head);
+            bytes.addAndGet(-head.size());
+            evictions.increment();
+        }
+    }
+
+    private Representation serialize(ResourceDescriptor descriptor, Resource resource) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("resource", resource);
+        body.put("status", "success");
+
+        try {
+            byte[] identity = objectMapper.writeValueAsBytes(body);
+            byte[] gzip = gzip(identity);
+            return new Representation(descriptor, identity, gzip.length < identity.length ? gzip : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o resource '" + descriptor.getUri() + "'", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 2 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public static final class Representation {
+
+        private final String uri;
+        private final long version;
+        private final byte[] identity;
+        private final byte[] gzip;
+        private final ResourceDescriptor descriptor;
+        private volatile boolean referenced;
+
+        private Representation(ResourceDescriptor descriptor, byte[] identity, byte[] gzip) {
+            this.uri = descriptor.getUri();
+            this.version = descriptor.getVersion();
+            this.descriptor = descriptor;
+            this.identity = identity;
+            this.gzip = gzip;
+        }
+
+        public byte[] getIdentity() {
+            return identity;
+        }
+
+        /**
+         * Variante comprimida, ou {@code null} quando a compressão não reduz o tamanho.
+         */
+        public byte[] getGzip() {
+            return gzip;
+        }
+
+        public String getETag(boolean gzipped) {
+            return eTag(descriptor, gzipped);
+        }
+
+        private long size() {
+            return identity.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+}
@@ -1,17 +1,47 @@
 package com.example.mcp.service;
 
+import com.example.mcp.config.ResourceIndexConfig;
 import com.example.mcp.model.Resource;
+import com.example.mcp.model.ResourceDescriptor;
+import com.example.mcp.model.ResourceDescriptorPage;
+import com.example.mcp.model.ResourceSearchResult;
+import com.example.mcp.model.ResourceTreeNode;
+import com.example.mcp.model.ResourceTreePage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class ResourceService {
     
+    public static final String METADATA_FILTER_PREFIX = "metadata.";
+    
     private final Map<String, Resource> resources = new ConcurrentHashMap<>();
+    private final Map<String, ResourceDescriptor> descriptors = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final ResourceIndexConfig indexConfig;
+    private final ObjectWriter contentWriter;
+    private final TrigramIndex nameIndex;
+    private final EqualityIndex mimeTypeIndex = new EqualityIndex();
+    private final UriTreeIndex uriIndex = new UriTreeIndex();
+    private final Map<String, EqualityIndex> metadataIndexes = new LinkedHashMap<>();
     
-    public ResourceService() {
+    public ResourceService(ResourceIndexConfig indexConfig, ObjectMapper objectMapper) {
+        this.indexConfig = indexConfig;
+        this.contentWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        this.nameIndex = new TrigramIndex(indexConfig.getLocale());
+        for (String key : indexConfig.getMetadataKeys()) {
+            metadataIndexes.put(key, new EqualityIndex());
+        }
         initializeFixedResources();
     }
     
@@ -36,7 +66,7 @@ public class ResourceService {
         textMetadata.put("language", "pt-BR");
         textDoc.setMetadata(textMetadata);
         
-        resources.put(textDoc.getUri(), textDoc);
+        store(textDoc, describe(textDoc));
         
 
         Map<String, Object> jsonData = new HashMap<>();
@@ -61,7 +91,7 @@ public class ResourceService {
         jsonMetadata.put("last_updated", "2024-01-15");
         jsonResource.setMetadata(jsonMetadata);
         
-        resources.put(jsonResource.getUri(), jsonResource);
+        store(jsonResource, describe(jsonResource));
         
 
         Map<String, Object> configData = new HashMap<>();
@@ -94,7 +124,7 @@ public class ResourceService {
         configMetadata.put("config_version", "1.2.0");
         configResource.setMetadata(configMetadata);
         
-        resources.put(configResource.getUri(), configResource);
+        store(configResource, describe(configResource));
     }
     
     public List<Resource> getAllResources() {
@@ -106,16 +136,142 @@ public class ResourceService {
     }
     
     public List<Resource> getResourcesByMimeType(String mimeType) {
-        return resources.values().stream()
-                .filter(resource -> resource.getMimeType().equals(mimeType))
-                .toList();
+        return lookup(mimeTypeIndex.get(mimeType));
+    }
+    
+    /**
+     * Resources que atendem a todos os filtros de igualdade informados. As chaves aceitas são
+     * {@code mimeType} e {@code metadata.<chave>} para as chaves de metadata indexadas; os conjuntos
+     * de cada filtro são intersectados a partir do menor.
+     */
+    public List<Resource> queryResources(Map<String, String> filters) {
+        if (filters.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um filtro");
+        }
+        
+        List<Set<String>> matches = new ArrayList<>(filters.size());
+        for (Map.Entry<String, String> filter : filters.entrySet()) {
+            matches.add(resolveIndex(filter.getKey()).get(filter.getValue()));
+        }
+        matches.sort(Comparator.comparingInt(Set::size));
+        
+        Set<String> uris = new HashSet<>(matches.get(0));
+        for (int i = 1; i < matches.size() && !uris.isEmpty(); i++) {
+            uris.retainAll(matches.get(i));
+        }
+        return lookup(uris);
+    }
+    
+    /**
+     * Distribuição dos resources por tipo MIME, lida das cardinalidades do índice.
+     */
+    public Map<String, Long> getMimeTypeDistribution() {
+        return mimeTypeIndex.cardinalities();
+    }
+    
+    public Set<String> getIndexedMetadataKeys() {
+        return Collections.unmodifiableSet(metadataIndexes.keySet());
+    }
+    
+    private EqualityIndex resolveIndex(String filter) {
+        if ("mimeType".equals(filter)) {
+            return mimeTypeIndex;
+        }
+        EqualityIndex index = filter.startsWith(METADATA_FILTER_PREFIX)
+                ? metadataIndexes.get(filter.substring(METADATA_FILTER_PREFIX.length()))
+                : null;
+        if (index == null) {
+            throw new IllegalArgumentException("Filtro não suportado: " + filter
+                    + " (use mimeType ou metadata.<chave> com as chaves indexadas " + metadataIndexes.keySet() + ")");
+        }
+        return index;
+    }
+    
+    private List<Resource> lookup(Collection<String> uris) {
+        List<Resource> result = new ArrayList<>(uris.size());
+        for (String uri : uris) {
+            Resource resource = resources.get(uri);
+            if (resource != null) {
+                result.add(resource);
+            }
+        }
+        result.sort(Comparator.comparing(Resource::getUri));
+        return result;
     }
     
     public List<Resource> searchResourcesByName(String namePattern) {
-        return resources.values().stream()
-                .filter(resource -> resource.getName().toLowerCase()
-                        .contains(namePattern.toLowerCase()))
-                .toList();
+        return searchResourcesByName(namePattern, null).getResources();
+    }
+    
+    /**
+     * Busca por substring no nome, sem diferenciar maiúsculas, usando o índice de trigramas.
+     * Os resultados vêm ordenados por relevância e limitados a {@code limit} (padrão configurado).
+     */
+    public ResourceSearchResult searchResourcesByName(String namePattern, Integer limit) {
+        int effectiveLimit = limit != null ? limit : indexConfig.getSearchLimit();
+        if (effectiveLimit <= 0 || effectiveLimit > indexConfig.getMaxSearchLimit()) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + indexConfig.getMaxSearchLimit());
+        }
+        
+        TrigramIndex.SearchResult result = nameIndex.search(namePattern, effectiveLimit);
+        List<Resource> page = new ArrayList<>(result.getUris().size());
+        for (String uri : result.getUris()) {
+            Resource resource = resources.get(uri);
+            if (resource != null) {
+                page.add(resource);
+            }
+        }
+        return new ResourceSearchResult(page, result.getTotal());
+    }
+    
+    /**
+     * Lista os descritores (sem conteúdo) em ordem de URI, com paginação por cursor.
+     */
+    public ResourceDescriptorPage listDescriptors(String cursor, Integer limit) {
+        int pageSize = limit != null && limit > 0
+                ? Math.min(limit, indexConfig.getMaxPageSize())
+                : indexConfig.getDefaultPageSize();
+        
+        UriTreeIndex.Listing listing = uriIndex.list("", null, cursor, pageSize);
+        List<ResourceDescriptor> page = new ArrayList<>(listing.getEntries().size());
+        for (UriTreeIndex.Entry entry : listing.getEntries()) {
+            ResourceDescriptor descriptor = descriptors.get(entry.getUri());
+            if (descriptor != null) {
+                page.add(descriptor);
+            }
+        }
+        return new ResourceDescriptorPage(page, listing.getNextCursor());
+    }
+    
+    public Optional<ResourceDescriptor> getDescriptor(String uri) {
+        return Optional.ofNullable(descriptors.get(uri));
+    }
+    
+    /**
+     * Lista a árvore de URIs sob o prefixo, com paginação por cursor. Com {@code depth}, subárvores mais
+     * profundas que o limite aparecem como um único nó do tipo diretório.
+     */
+    public ResourceTreePage listTree(String prefix, Integer depth, String cursor, Integer limit) {
+        if (depth != null && depth <= 0) {
+            throw new IllegalArgumentException("A profundidade deve ser positiva");
+        }
+        int pageSize = limit != null && limit > 0
+                ? Math.min(limit, indexConfig.getMaxPageSize())
+                : indexConfig.getDefaultPageSize();
+        
+        UriTreeIndex.Listing listing = uriIndex.list(prefix != null ? prefix : "", depth, cursor, pageSize);
+        List<ResourceTreeNode> nodes = new ArrayList<>(listing.getEntries().size());
+        for (UriTreeIndex.Entry entry : listing.getEntries()) {
+            if (entry.isDirectory()) {
+                nodes.add(ResourceTreeNode.directory(entry.getUri()));
+            } else {
+                Resource resource = resources.get(entry.getUri());
+                if (resource != null) {
+                    nodes.add(ResourceTreeNode.resource(resource));
+                }
+            }
+        }
+        return new ResourceTreePage(nodes, listing.getNextCursor());
     }
     
     public boolean resourceExists(String uri) {
@@ -147,41 +303,115 @@ public class ResourceService {
             throw new IllegalArgumentException("Conteúdo do resource é obrigatório");
         }
         
-        resources.put(resource.getUri(), resource);
+        ResourceDescriptor descriptor = describe(resource);
+        synchronized (this) {
+            if (resources.containsKey(resource.getUri())) {
+                throw new IllegalArgumentException("Resource com URI '" + resource.getUri() + "' já existe");
+            }
+            store(resource, descriptor);
+        }
         return resource;
     }
     
-    public Resource updateResource(String uri, Resource updatedResource) {
+    public synchronized Resource updateResource(String uri, Resource updatedResource) {
         if (!resources.containsKey(uri)) {
             throw new IllegalArgumentException("Resource com URI '" + uri + "' não encontrado");
         }
         
+        // O resource publicado nunca é alterado: leitores concorrentes veem a versão antiga inteira ou a nova
         Resource existingResource = resources.get(uri);
+        Resource resource = new Resource(uri, existingResource.getName(), existingResource.getDescription(),
+                existingResource.getMimeType(), existingResource.getContent());
+        resource.setMetadata(existingResource.getMetadata());
+        resource.setCreatedAt(existingResource.getCreatedAt());
         
         if (updatedResource.getName() != null && !updatedResource.getName().trim().isEmpty()) {
-            existingResource.setName(updatedResource.getName());
+            resource.setName(updatedResource.getName());
         }
         
         if (updatedResource.getDescription() != null) {
-            existingResource.setDescription(updatedResource.getDescription());
+            resource.setDescription(updatedResource.getDescription());
         }
         
         if (updatedResource.getMimeType() != null && !updatedResource.getMimeType().trim().isEmpty()) {
-            existingResource.setMimeType(updatedResource.getMimeType());
+            resource.setMimeType(updatedResource.getMimeType());
         }
         
         if (updatedResource.getContent() != null) {
-            existingResource.setContent(updatedResource.getContent());
+            resource.setContent(updatedResource.getContent());
         }
         
         if (updatedResource.getMetadata() != null) {
-            existingResource.setMetadata(updatedResource.getMetadata());
+            resource.setMetadata(updatedResource.getMetadata());
         }
         
-        return existingResource;
+        // describe valida o novo conteúdo antes de qualquer troca
+        ResourceDescriptor descriptor = describe(resource);
+        index(resource, descriptor);
+        resources.put(uri, resource);
+        return resource;
+    }
+    
+    public synchronized boolean deleteResource(String uri) {
+        if (resources.remove(uri) == null) {
+            return false;
+        }
+        descriptors.remove(uri);
+        uriIndex.remove(uri);
+        nameIndex.remove(uri);
+        mimeTypeIndex.remove(uri);
+        metadataIndexes.values().forEach(index -> index.remove(uri));
+        return true;
     }
     
-    public boolean deleteResource(String uri) {
-        return resources.remove(uri) != null;
+    // Escritas são serializadas pelo monitor do serviço para manter os índices coerentes com o mapa
+    private void store(Resource resource, ResourceDescriptor descriptor) {
+        index(resource, descriptor);
+        resources.put(resource.getUri(), resource);
+        uriIndex.add(resource.getUri());
+    }
+    
+    /**
+     * Publica o descritor antes do resource: quem lê o resource e depois o descritor percebe a troca
+     * (ver {@link ResourceRepresentationCache}).
+     */
+    private void index(Resource resource, ResourceDescriptor descriptor) {
+        String uri = resource.getUri();
+        descriptors.put(uri, descriptor);
+        nameIndex.add(uri, resource.getName());
+        mimeTypeIndex.put(uri, resource.getMimeType());
+        
+        Map<String, Object> metadata = resource.getMetadata();
+        metadataIndexes.forEach((key, index) -> {
+            Object value = metadata != null ? metadata.get(key) : null;
+            // Apenas valores simples são indexados; listas e objetos não participam de filtros de igualdade
+            boolean scalar = value instanceof String || value instanceof Number || value instanceof Boolean;
+            index.put(uri, scalar ? String.valueOf(value) : null);
+        });
+    }
+    
+    private ResourceDescriptor describe(Resource resource) {
+        byte[] content = contentBytes(resource.getContent());
+        return new ResourceDescriptor(resource.getUri(), resource.getName(), resource.getMimeType(),
+                content.length, sha256(content), resource.getUpdatedAt(), versions.incrementAndGet());
+    }
+    
+    private byte[] contentBytes(Object content) {
+        if (content instanceof String text) {
+            return text.getBytes(StandardCharsets.UTF_8);
+        }
+        try {
+            return contentWriter.writeValueAsBytes(content);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Conteúdo do resource não pode ser serializado: " + e.getOriginalMessage(), e);
+        }
+    }
+    
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível nesta JVM", e);
+        }
     }
-}
\ No newline at end of file
+}
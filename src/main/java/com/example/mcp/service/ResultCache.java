@@ -0,0 +1,225 @@
+package com.example.mcp.service;
+
+import com.example.mcp.config.ResultCacheConfig;
+import com.example.mcp.model.Tool;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class ResultCache {
+
+    public static final String CACHEABLE_METADATA_KEY = "cacheable";
+
+    private static final long ENTRY_OVERHEAD_BYTES = 128;
+
+    private final Map<ExecutionKey, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong bytes = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Map<String, Counter> hitCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> missCounters = new ConcurrentHashMap<>();
+
+    private final ResultCacheConfig config;
+    private final MeterRegistry meterRegistry;
+    private final Counter evictedBySize;
+    private final Counter evictedByBytes;
+    private final Counter evictedByTtl;
+    private final Counter evictedByInvalidation;
+
+    public ResultCache(ResultCacheConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        this.evictedBySize = evictionCounter("size");
+        this.evictedByBytes = evictionCounter("bytes");
+        this.evictedByTtl = evictionCounter("expired");
+        this.evictedByInvalidation = evictionCounter("invalidated");
+
+        Gauge.builder("mcp.tools.cache.size", size, AtomicInteger::get)
+                .description("Resultados mantidos no cache de tools")
+                .register(meterRegistry);
+        Gauge.builder("mcp.tools.cache.bytes", bytes, AtomicLong::get)
+                .description("Tamanho estimado do cache de tools, somando chaves e resultados")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    private Counter evictionCounter(String reason) {
+        return Counter.builder("mcp.tools.cache.evictions")
+                .description("Resultados removidos do cache de tools")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    public boolean isCacheable(Tool tool) {
+        if (!config.isEnabled() || tool == null || tool.getMetadata() == null) {
+            return false;
+        }
+        Object flag = tool.getMetadata().get(CACHEABLE_METADATA_KEY);
+        return Boolean.TRUE.equals(flag) || "true".equals(flag);
+    }
+
+    public Optional<Object> get(ExecutionKey key) {
+        Entry entry = entries.get(key);
+
+        if (entry != null && entry.isExpired(config.getTtl().toMillis())) {
+            if (remove(entry)) {
+                evictedByTtl.increment();
+            }
+            entry = null;
+        }
+
+        // Uma remoção concorrente descarta o resultado da entrada; nesse caso conta como miss
+        Object result = entry != null ? entry.result : null;
+        if (result != null) {
+            hitCounters.computeIfAbsent(key.getToolName(), tool -> requestCounter(tool, "hit")).increment();
+        } else {
+            missCounters.computeIfAbsent(key.getToolName(), tool -> requestCounter(tool, "miss")).increment();
+        }
+        return Optional.ofNullable(result);
+    }
+
+    /**
+     * Geração atual da tool; deve ser lida antes de executar e repassada ao {@link #put},
+     * para que resultados calculados antes de uma invalidação sejam descartados.
+     */
+    public long generation(String toolName) {
+        return generations.computeIfAbsent(toolName, name -> new AtomicLong()).get();
+    }
+
+    public void put(ExecutionKey key, long generation, Object result) {
+        if (result == null || generation != generation(key.getToolName())) {
+            return;
+        }
+
+        long entryBytes = ENTRY_OVERHEAD_BYTES + key.estimatedBytes() + ObjectSizes.estimate(result);
+        if (entryBytes > config.getMaxBytes().toBytes()) {
+            // Um resultado maior que o cache inteiro só expulsaria todas as outras entradas
+            return;
+        }
+
+        Entry entry = new Entry(key, result, entryBytes);
+        if (entries.putIfAbsent(key, entry) == null) {
+            size.incrementAndGet();
+            bytes.addAndGet(entryBytes);
+            insertionOrder.offer(entry);
+
+            // Uma invalidação concorrente pode ter varrido a fila antes desta inserção
+            if (generation != generation(key.getToolName()) && remove(entry)) {
+                evictedByInvalidation.increment();
+            }
+        }
+
+        evict();
+    }
+
+    public void invalidate(String toolName) {
+        generations.computeIfAbsent(toolName, name -> new AtomicLong()).incrementAndGet();
+
+        for (Entry entry : entries.values()) {
+            if (entry.key.getToolName().equals(toolName) && remove(entry)) {
+                evictedByInvalidation.increment();
+            }
+        }
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public long estimatedBytes() {
+        return bytes.get();
+    }
+
+    private void evict() {
+        // Uma thread por vez percorre a fila; as demais seguem sem esperar, e quem está removendo
+        // continua enquanto houver excesso, inclusive o causado pelas inserções concorrentes
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            long ttlMillis = config.getTtl().toMillis();
+            long maxBytes = config.getMaxBytes().toBytes();
+
+            Entry head;
+            while ((head = insertionOrder.peek()) != null) {
+                // Entradas removidas pelo TTL na leitura ou por invalidação só precisam sair da fila
+                if (!head.removed.get()) {
+                    Counter reason;
+                    if (size.get() > config.getMaxEntries()) {
+                        reason = evictedBySize;
+                    } else if (bytes.get() > maxBytes) {
+                        reason = evictedByBytes;
+                    } else if (head.isExpired(ttlMillis)) {
+                        reason = evictedByTtl;
+                    } else {
+                        break;
+                    }
+                    if (remove(head)) {
+                        reason.increment();
+                    }
+                }
+                insertionOrder.poll();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Remove a entrada do mapa em O(1) e a marca como removida; a fila de inserção a descarta
+     * quando ela chegar ao início, em {@link #evict()}.
+     */
+    private boolean remove(Entry entry) {
+        if (!entry.removed.compareAndSet(false, true)) {
+            return false;
+        }
+        entries.remove(entry.key, entry);
+        size.decrementAndGet();
+        bytes.addAndGet(-entry.bytes);
+        // Libera o resultado já, sem esperar a entrada sair da fila
+        entry.result = null;
+        return true;
+    }
+
+    private Counter requestCounter(String toolName, String result) {
+        return Counter.builder("mcp.tools.cache.requests")
+                .description("Consultas ao cache de resultados de tools")
+                .tag("tool", toolName)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static final class Entry {
+
+        private final ExecutionKey key;
+        private final long storedAt;
+        private final long bytes;
+        private final AtomicBoolean removed = new AtomicBoolean();
+        private volatile Object result;
+
+        private Entry(ExecutionKey key, Object result, long bytes) {
+            this.key = key;
+            this.result = result;
+            this.bytes = bytes;
+            this.storedAt = System.currentTimeMillis();
+        }
+
+        private boolean isExpired(long ttlMillis) {
+            return System.currentTimeMillis() - storedAt > ttlMillis;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.mcp.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket sem locks, implementado como GCRA: o estado é um único instante teórico de chegada
+ * (TAT) atualizado por CAS, equivalente a um balde de {@code burst} tokens reabastecido a {@code rate}/s.
+ */
+public final class TokenBucket {
+
+    private final int burst;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+    private final LongSupplier nanoClock;
+
+    public TokenBucket(double ratePerSecond, int burst) {
+        this(ratePerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucket(double ratePerSecond, int burst, LongSupplier nanoClock) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Token bucket requer taxa positiva e rajada de ao menos 1");
+        }
+        this.burst = burst;
+        this.emissionIntervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.nanoClock = nanoClock;
+        this.theoreticalArrival = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Consome um token. Retorna 0 se admitido ou, caso contrário, quantos nanossegundos faltam para o próximo token.
+     */
+    public long tryAcquire() {
+        return tryAcquire(1);
+    }
+
+    /**
+     * Consome {@code permits} tokens de uma vez, ou nenhum. Pedidos acima da rajada consomem o balde inteiro,
+     * já que nunca haveria mais tokens disponíveis que isso.
+     */
+    public long tryAcquire(int permits) {
+        long cost = emissionIntervalNanos * Math.min(permits, burst);
+        long now = nanoClock.getAsLong();
+
+        while (true) {
+            long current = theoreticalArrival.get();
+            long base = current - now > 0 ? current : now;
+            long next = base + cost;
+            long waitNanos = next - now - burstToleranceNanos - emissionIntervalNanos;
+
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Devolve um token consumido por {@link #tryAcquire()} cuja requisição acabou não sendo admitida.
+     */
+    public void release() {
+        release(1);
+    }
+
+    /**
+     * Devolve os tokens consumidos por {@link #tryAcquire(int)}.
+     */
+    public void release(int permits) {
+        theoreticalArrival.addAndGet(-emissionIntervalNanos * Math.min(permits, burst));
+    }
+
+    /**
+     * Indica se o balde está cheio, isto é, sem consumo recente; usado para descartar baldes ociosos.
+     */
+    public boolean isIdle() {
+        return theoreticalArrival.get() - nanoClock.getAsLong() <= 0;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.mcp.service;
+
+import com.example.mcp.model.ToolExecution;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class ToolMetrics {
+
+    public static final String EXECUTION_TIMER = "mcp.tools.execution";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Map<String, Timer>> timers = new ConcurrentHashMap<>();
+
+    public ToolMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void recordExecution(ToolExecution execution) {
+        timer(execution.getToolName(), execution.getStatus())
+                .record(execution.getDurationNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(String toolName, String status) {
+        return timers
+                .computeIfAbsent(toolName, name -> new ConcurrentHashMap<>())
+                .computeIfAbsent(status, name -> Timer.builder(EXECUTION_TIMER)
+                        .description("Latência de execução das tools")
+                        .tag("tool", toolName)
+                        .tag("status", status)
+                        .publishPercentiles(0.5, 0.95, 0.99, 0.999)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+    }
+}
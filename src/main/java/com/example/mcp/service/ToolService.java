@@ -1,20 +1,110 @@
 package com.example.mcp.service;
 
+import com.example.mcp.config.ToolExecutionConfig;
+import com.example.mcp.executor.CalculatorExecutor;
+import com.example.mcp.executor.ExecutionContext;
+import com.example.mcp.executor.ExecutionListener;
+import com.example.mcp.executor.TextTemplateEngine;
+import com.example.mcp.executor.ToolExecutorRegistry;
+import com.example.mcp.model.ExecutionPage;
+import com.example.mcp.model.ExecutionPriority;
+import com.example.mcp.model.ExecutionQuery;
 import com.example.mcp.model.Tool;
 import com.example.mcp.model.ToolExecution;
+import com.example.mcp.validation.ArgumentValidationException;
+import com.example.mcp.validation.CompiledSchema;
+import com.example.mcp.validation.SchemaViolation;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
 public class ToolService {
     
+    public static final String TIMEOUT_METADATA_KEY = "timeout_ms";
+    public static final String PRIORITY_METADATA_KEY = "priority";
+    public static final String WEIGHT_METADATA_KEY = "weight";
+    
     private final Map<String, Tool> tools = new ConcurrentHashMap<>();
-    private final Map<String, ToolExecution> executions = new ConcurrentHashMap<>();
+    private final Map<String, CompiledSchema> compiledSchemas = new ConcurrentHashMap<>();
+    
+    @Autowired
+    private ExecutionStore executionStore;
+    
+    @Autowired
+    private ToolExecutorRegistry executorRegistry;
+    
+    @Autowired
+    private ToolExecutionConfig executionConfig;
+    
+    @Autowired
+    private ResultCache resultCache;
+    
+    @Autowired
+    private ToolMetrics toolMetrics;
+    
+    @Autowired
+    private ExecutionStats executionStats;
+    
+    @Autowired
+    private ExecutionIdGenerator executionIdGenerator;
+    
+    @Autowired
+    private ExecutionJournal executionJournal;
+    
+    @Autowired
+    private ExecutionSupervisor executionSupervisor;
+    
+    @Autowired
+    private ExecutionCoalescer executionCoalescer;
+    
+    @Autowired
+    private TextTemplateEngine textTemplateEngine;
+    
+    @Autowired
+    @Qualifier("toolExecutionExecutor")
+    private ExecutorService toolExecutionExecutor;
+    
+    @Autowired
+    @Qualifier("blockingToolExecutor")
+    private ExecutorService blockingToolExecutor;
     
     public ToolService() {
         initializeFixedTools();
+        tools.values().forEach(tool -> compiledSchemas.put(tool.getName(), compileSchema(tool.getInputSchema())));
+    }
+    
+    /**
+     * Os valores aceitos de template e idioma do text_generator vêm dos templates carregados,
+     * de modo que novos templates e idiomas não exigem mudança de código.
+     */
+    @PostConstruct
+    void applyTextTemplates() {
+        Tool textGenerator = tools.get("text_generator");
+        Map<String, Object> schema = new HashMap<>(textGenerator.getInputSchema());
+        @SuppressWarnings("unchecked")
+        Map<String, Object> properties = new HashMap<>((Map<String, Object>) schema.get("properties"));
+        properties.put("template", withEnum(properties.get("template"), textTemplateEngine.getTemplateNames()));
+        properties.put("language", withEnum(properties.get("language"), textTemplateEngine.getLanguages()));
+        schema.put("properties", properties);
+        
+        textGenerator.setInputSchema(schema);
+        compiledSchemas.put(textGenerator.getName(), compileSchema(schema));
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> withEnum(Object property, Collection<String> values) {
+        Map<String, Object> definition = new LinkedHashMap<>((Map<String, Object>) property);
+        definition.put("enum", new ArrayList<>(values));
+        return definition;
     }
     
     private void initializeFixedTools() {
@@ -28,12 +118,16 @@ public class ToolService {
                 "description", "Operação matemática a ser realizada"
             ),
             "a", Map.of(
-                "type", "number",
-                "description", "Primeiro número"
+                "type", Arrays.asList("number", "array"),
+                "items", Map.of("type", "number"),
+                "maxItems", CalculatorExecutor.MAX_VECTOR_LENGTH,
+                "description", "Primeiro número, ou lista de números para operação elemento a elemento"
             ),
             "b", Map.of(
-                "type", "number",
-                "description", "Segundo número"
+                "type", Arrays.asList("number", "array"),
+                "items", Map.of("type", "number"),
+                "maxItems", CalculatorExecutor.MAX_VECTOR_LENGTH,
+                "description", "Segundo número, ou lista de números para operação elemento a elemento"
             )
         ));
         calcSchema.put("required", Arrays.asList("operation", "a", "b"));
@@ -48,6 +142,7 @@ public class ToolService {
         Map<String, Object> calcMetadata = new HashMap<>();
         calcMetadata.put("category", "math");
         calcMetadata.put("version", "1.0");
+        calcMetadata.put(ResultCache.CACHEABLE_METADATA_KEY, true);
         calculator.setMetadata(calcMetadata);
         
         tools.put(calculator.getName(), calculator);
@@ -58,7 +153,6 @@ public class ToolService {
         textSchema.put("properties", Map.of(
             "template", Map.of(
                 "type", "string",
-                "enum", Arrays.asList("greeting", "farewell", "email", "report"),
                 "description", "Tipo de template de texto"
             ),
             "name", Map.of(
@@ -67,7 +161,6 @@ public class ToolService {
             ),
             "language", Map.of(
                 "type", "string",
-                "enum", Arrays.asList("pt", "en", "es"),
                 "default", "pt",
                 "description", "Idioma do texto gerado"
             )
@@ -114,6 +207,7 @@ public class ToolService {
         Map<String, Object> validatorMetadata = new HashMap<>();
         validatorMetadata.put("category", "validation");
         validatorMetadata.put("version", "2.0");
+        validatorMetadata.put(ResultCache.CACHEABLE_METADATA_KEY, true);
         validator.setMetadata(validatorMetadata);
         
         tools.put(validator.getName(), validator);
@@ -135,118 +229,267 @@ public class ToolService {
     }
     
     public ToolExecution executeTool(String toolName, Map<String, Object> arguments) {
-        ToolExecution execution = new ToolExecution(toolName, arguments);
+        return executeTool(toolName, arguments, null);
+    }
+    
+    public ToolExecution executeTool(String toolName, Map<String, Object> arguments, Duration timeout) {
+        validateArguments(toolName, arguments);
+        ToolExecution execution = new ToolExecution(executionIdGenerator.nextId(), toolName, arguments);
+        executionStats.executionStarted();
+        ExecutionSupervisor.Handle handle = executionSupervisor.register(
+                execution, resolveTimeout(toolName, timeout), this::finishExecution);
+        runExecution(execution, handle);
+        return execution;
+    }
+    
+    public ToolExecution executeToolAsync(String toolName, Map<String, Object> arguments) {
+        return executeToolAsync(toolName, arguments, null);
+    }
+    
+    public ToolExecution executeToolAsync(String toolName, Map<String, Object> arguments, Duration timeout) {
+        return executeToolAsync(toolName, arguments, timeout, null);
+    }
+    
+    /**
+     * Enfileira a execução na classe de prioridade informada; {@code null} usa a prioridade definida para a tool.
+     */
+    public ToolExecution executeToolAsync(String toolName, Map<String, Object> arguments, Duration timeout,
+                                          ExecutionPriority priority) {
+        return submitExecution(toolName, arguments, timeout, priority, ExecutionListener.NONE);
+    }
+    
+    /**
+     * Executa em segundo plano repassando progresso, resultados parciais e o status final ao listener.
+     */
+    public ToolExecution executeToolStreaming(String toolName, Map<String, Object> arguments, Duration timeout,
+                                              ExecutionPriority priority, ExecutionListener listener) {
+        return submitExecution(toolName, arguments, timeout, priority, listener);
+    }
+    
+    private ToolExecution submitExecution(String toolName, Map<String, Object> arguments, Duration timeout,
+                                          ExecutionPriority priority, ExecutionListener listener) {
+        validateArguments(toolName, arguments);
+        Duration effectiveTimeout = resolveTimeout(toolName, timeout);
+        ToolExecution execution = new ToolExecution(executionIdGenerator.nextId(), toolName, arguments);
+        execution.markQueued();
+        executionStore.save(execution);
+        executionStats.executionStarted();
+        
+        boolean blocking = resolveExecutor(toolName)
+                .map(registration -> registration.getTraits().isBlocking())
+                .orElse(false);
+        ExecutorService pool = blocking ? blockingToolExecutor : toolExecutionExecutor;
+        
+        // O prazo conta a partir do aceite, incluindo o tempo de espera na fila
+        ExecutionSupervisor.Handle handle = executionSupervisor.register(
+                execution, effectiveTimeout, listener, this::finishExecution);
+        Runnable task = new FairExecutionQueue.Task(toolName, resolvePriority(toolName, priority),
+                resolveWeight(toolName), () -> runExecution(execution, handle));
+        handle.bind(pool, task);
         
         try {
-            Object result = performToolExecution(toolName, arguments);
-            execution.markCompleted(result);
-        } catch (Exception e) {
-            execution.markFailed(e.getMessage());
+            pool.execute(task);
+        } catch (RejectedExecutionException e) {
+            handle.release();
+            execution.markFailed("Fila de execução cheia, tente novamente mais tarde");
+            executionStats.executionAbandoned();
+            executionStore.save(execution);
+            executionJournal.append(execution);
+            throw e;
         }
         
-        executions.put(execution.getExecutionId(), execution);
         return execution;
     }
     
-    private Object performToolExecution(String toolName, Map<String, Object> arguments) {
-        switch (toolName) {
-            case "calculator":
-                return executeCalculator(arguments);
-            case "text_generator":
-                return executeTextGenerator(arguments);
-            case "data_validator":
-                return executeDataValidator(arguments);
-            default:
-                throw new IllegalArgumentException("Tool não encontrado: " + toolName);
+    /**
+     * Cancela uma execução em andamento. Retorna a execução com o status resultante, ou vazio se o ID não existir.
+     */
+    public Optional<ToolExecution> cancelExecution(String executionId) {
+        return executionSupervisor.cancel(executionId)
+                .or(() -> executionStore.findById(executionId));
+    }
+    
+    /**
+     * Prazo efetivo: o menor entre o pedido na requisição, o definido em metadata.timeout_ms da tool
+     * e o padrão configurado.
+     */
+    private Duration resolveTimeout(String toolName, Duration requested) {
+        if (requested != null && (requested.isNegative() || requested.isZero())) {
+            throw new IllegalArgumentException("O prazo de execução deve ser positivo");
         }
+        
+        Duration timeout = executionConfig.getDefaultTimeout();
+        Tool tool = tools.get(toolName);
+        if (tool != null && tool.getMetadata() != null
+                && tool.getMetadata().get(TIMEOUT_METADATA_KEY) instanceof Number toolTimeout
+                && toolTimeout.longValue() > 0) {
+            timeout = min(timeout, Duration.ofMillis(toolTimeout.longValue()));
+        }
+        return requested != null ? min(timeout, requested) : timeout;
     }
     
-    private Object executeCalculator(Map<String, Object> args) {
-        String operation = (String) args.get("operation");
-        double a = ((Number) args.get("a")).doubleValue();
-        double b = ((Number) args.get("b")).doubleValue();
+    /**
+     * Prioridade efetiva: a pedida na requisição ou, na falta dela, metadata.priority da tool (padrão normal).
+     */
+    public ExecutionPriority resolvePriority(String toolName, ExecutionPriority requested) {
+        if (requested != null) {
+            return requested;
+        }
         
-        double result = switch (operation) {
-            case "add" -> a + b;
-            case "subtract" -> a - b;
-            case "multiply" -> a * b;
-            case "divide" -> {
-                if (b == 0) throw new IllegalArgumentException("Divisão por zero não permitida");
-                yield a / b;
+        Tool tool = tools.get(toolName);
+        if (tool != null && tool.getMetadata() != null
+                && tool.getMetadata().get(PRIORITY_METADATA_KEY) instanceof String toolPriority) {
+            try {
+                return ExecutionPriority.parse(toolPriority);
+            } catch (IllegalArgumentException e) {
+                // Valor inválido no metadata equivale a não definir prioridade
             }
-            default -> throw new IllegalArgumentException("Operação inválida: " + operation);
-        };
-        
-        return Map.of(
-            "result", result,
-            "operation", operation,
-            "operands", Arrays.asList(a, b)
-        );
+        }
+        return ExecutionPriority.NORMAL;
     }
     
-    private Object executeTextGenerator(Map<String, Object> args) {
-        String template = (String) args.get("template");
-        String name = (String) args.get("name");
-        String language = (String) args.getOrDefault("language", "pt");
-        
-        String text = switch (template) {
-            case "greeting" -> switch (language) {
-                case "en" -> "Hello, " + name + "! Welcome to our MCP server.";
-                case "es" -> "¡Hola, " + name + "! Bienvenido a nuestro servidor MCP.";
-                default -> "Olá, " + name + "! Bem-vindo ao nosso servidor MCP.";
-            };
-            case "farewell" -> switch (language) {
-                case "en" -> "Goodbye, " + name + "! Thank you for using our services.";
-                case "es" -> "¡Adiós, " + name + "! Gracias por usar nuestros servicios.";
-                default -> "Tchau, " + name + "! Obrigado por usar nossos serviços.";
-            };
-            case "email" -> switch (language) {
-                case "en" -> "Dear " + name + ",\n\nThis is an automated message from our MCP server.\n\nBest regards,\nMCP Team";
-                case "es" -> "Estimado/a " + name + ",\n\nEste es un mensaje automatizado de nuestro servidor MCP.\n\nSaludos cordiales,\nEquipo MCP";
-                default -> "Caro(a) " + name + ",\n\nEsta é uma mensagem automatizada do nosso servidor MCP.\n\nAtenciosamente,\nEquipe MCP";
-            };
-            case "report" -> switch (language) {
-                case "en" -> "Report generated for: " + name + "\nDate: " + new Date() + "\nStatus: Active";
-                case "es" -> "Informe generado para: " + name + "\nFecha: " + new Date() + "\nEstado: Activo";
-                default -> "Relatório gerado para: " + name + "\nData: " + new Date() + "\nStatus: Ativo";
-            };
-            default -> throw new IllegalArgumentException("Template inválido: " + template);
-        };
+    /**
+     * Peso da tool no enfileiramento justo entre tools da mesma classe (metadata.weight, padrão 1).
+     */
+    private double resolveWeight(String toolName) {
+        Tool tool = tools.get(toolName);
+        if (tool != null && tool.getMetadata() != null
+                && tool.getMetadata().get(WEIGHT_METADATA_KEY) instanceof Number weight
+                && weight.doubleValue() > 0) {
+            return weight.doubleValue();
+        }
+        return 1;
+    }
+    
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+    
+    private void validateArguments(String toolName, Map<String, Object> arguments) {
+        CompiledSchema schema = compiledSchemas.get(toolName);
+        if (schema == null) {
+            return;
+        }
         
-        return Map.of(
-            "text", text,
-            "template", template,
-            "language", language,
-            "name", name
-        );
+        List<SchemaViolation> violations = schema.validate(arguments);
+        if (!violations.isEmpty()) {
+            throw new ArgumentValidationException(toolName, violations);
+        }
     }
     
-    private Object executeDataValidator(Map<String, Object> args) {
-        String dataType = (String) args.get("data_type");
-        String value = (String) args.get("value");
+    private CompiledSchema compileSchema(Map<String, Object> inputSchema) {
+        try {
+            return CompiledSchema.compile(inputSchema);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Schema de entrada inválido: " + e.getMessage(), e);
+        }
+    }
+    
+    private void runExecution(ToolExecution execution, ExecutionSupervisor.Handle handle) {
+        if (!handle.enter()) {
+            // Cancelada ou expirada enquanto aguardava na fila
+            finishExecution(execution);
+            handle.notifyFinished();
+            return;
+        }
         
-        boolean isValid = switch (dataType) {
-            case "email" -> value.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
-            case "cpf" -> value.matches("^\\d{3}\\.\\d{3}\\.\\d{3}-\\d{2}$") || value.matches("^\\d{11}$");
-            case "phone" -> value.matches("^\\(?\\d{2}\\)?\\s?\\d{4,5}-?\\d{4}$");
-            case "url" -> value.matches("^https?://[A-Za-z0-9.-]+\\.[A-Za-z]{2,}(/.*)?$");
-            default -> throw new IllegalArgumentException("Tipo de dado inválido: " + dataType);
-        };
+        try {
+            execution.markRunning();
+            // Reindexa a execução que saiu da fila, para que consultas por status a encontrem como running
+            executionStore.save(execution);
+            ToolExecutorRegistry.Registration registration = resolveExecutor(execution.getToolName())
+                    .orElseThrow(() -> new IllegalArgumentException(
+                        tools.containsKey(execution.getToolName())
+                            ? "Nenhum executor registrado para a tool: " + execution.getToolName()
+                            : "Tool não encontrado: " + execution.getToolName()));
+            Tool tool = tools.get(execution.getToolName());
+            ExecutionContext context = handle.getContext();
+            Callable<Object> computation = () -> registration.execute(
+                    execution.getArguments(), executionConfig.getBulkheadTimeout(), context);
+            
+            // Execuções com streaming não são agrupadas: cada cliente precisa receber seus próprios eventos
+            boolean coalesce = executionConfig.isCoalescing()
+                    && context.getListener() == ExecutionListener.NONE
+                    && executionCoalescer.isCoalescable(tool, registration.getTraits());
+            boolean cacheable = resultCache.isCacheable(tool);
+            ExecutionKey key = coalesce || cacheable
+                    ? ExecutionKey.of(execution.getToolName(), execution.getArguments(),
+                        executionConfig.getMaxKeyLength())
+                    : null;
+            if (key == null) {
+                // Argumentos grandes demais para servir de chave: a execução segue sozinha e sem cache
+                coalesce = false;
+                cacheable = false;
+            }
+            
+            if (cacheable) {
+                Optional<Object> cached = resultCache.get(key);
+                if (cached.isPresent()) {
+                    execution.setCacheHit(true);
+                    execution.markCompleted(cached.get());
+                } else {
+                    long generation = resultCache.generation(execution.getToolName());
+                    Object result = coalesce
+                            ? executionCoalescer.execute(key, execution, context, computation)
+                            : computation.call();
+                    // Só resultados de execuções concluídas com sucesso entram no cache: se o prazo expirou ou
+                    // a execução foi cancelada enquanto rodava, markCompleted não tem efeito
+                    if (execution.markCompleted(result)) {
+                        resultCache.put(key, generation, result);
+                    }
+                }
+            } else {
+                Object result = coalesce
+                        ? executionCoalescer.execute(key, execution, context, computation)
+                        : computation.call();
+                execution.markCompleted(result);
+            }
+        } catch (Exception e) {
+            // Sem efeito se a execução já foi cancelada ou expirou
+            execution.markFailed(e.getMessage());
+        } finally {
+            handle.exit();
+        }
         
-        return Map.of(
-            "valid", isValid,
-            "data_type", dataType,
-            "value", value,
-            "message", isValid ? "Valor válido" : "Valor inválido para o tipo " + dataType
-        );
+        finishExecution(execution);
+        handle.notifyFinished();
+    }
+    
+    private void finishExecution(ToolExecution execution) {
+        toolMetrics.recordExecution(execution);
+        executionStats.executionFinished(execution);
+        executionStore.save(execution);
+        executionJournal.append(execution);
+    }
+    
+    private Optional<ToolExecutorRegistry.Registration> resolveExecutor(String toolName) {
+        Tool tool = tools.get(toolName);
+        return tool == null ? Optional.empty() : executorRegistry.resolve(tool);
+    }
+    
+    public boolean isExecutable(String toolName) {
+        Tool tool = tools.get(toolName);
+        return tool != null && executorRegistry.isExecutable(tool);
     }
     
     public Optional<ToolExecution> getExecution(String executionId) {
-        return Optional.ofNullable(executions.get(executionId));
+        return executionStore.findById(executionId);
     }
     
     public List<ToolExecution> getAllExecutions() {
-        return new ArrayList<>(executions.values());
+        return executionStore.findAll();
+    }
+    
+    public ExecutionPage queryExecutions(ExecutionQuery query) {
+        return executionStore.query(query);
+    }
+    
+    public boolean isValidExecutionId(String executionId) {
+        return ExecutionIdGenerator.isValid(executionId);
+    }
+    
+    public int getRetainedExecutionCount() {
+        return executionStore.size();
     }
     
     public boolean toolExists(String name) {
@@ -274,6 +517,8 @@ public class ToolService {
             throw new IllegalArgumentException("Schema de entrada da tool é obrigatório");
         }
         
+        CompiledSchema schema = compileSchema(tool.getInputSchema());
+        compiledSchemas.put(tool.getName(), schema);
         tools.put(tool.getName(), tool);
         return tool;
     }
@@ -284,13 +529,17 @@ public class ToolService {
         }
         
         Tool existingTool = tools.get(name);
+        CompiledSchema schema = updatedTool.getInputSchema() != null
+                ? compileSchema(updatedTool.getInputSchema())
+                : null;
         
         if (updatedTool.getDescription() != null && !updatedTool.getDescription().trim().isEmpty()) {
             existingTool.setDescription(updatedTool.getDescription());
         }
         
-        if (updatedTool.getInputSchema() != null) {
+        if (schema != null) {
             existingTool.setInputSchema(updatedTool.getInputSchema());
+            compiledSchemas.put(name, schema);
         }
         
         if (updatedTool.getCapabilities() != null) {
@@ -301,10 +550,13 @@ public class ToolService {
             existingTool.setMetadata(updatedTool.getMetadata());
         }
         
+        resultCache.invalidate(name);
         return existingTool;
     }
     
     public boolean deleteTool(String name) {
+        compiledSchemas.remove(name);
+        resultCache.invalidate(name);
         return tools.remove(name) != null;
     }
 }
\ No newline at end of file
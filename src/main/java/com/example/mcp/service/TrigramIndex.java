@@ -0,0 +1,213 @@
+package com.example.mcp.service;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice invertido de trigramas sobre os nomes dos resources, para buscas por substring sem varrer o catálogo.
+ *
+ * Cada nome é normalizado (NFC + minúsculas na locale configurada) e decomposto em trigramas; a consulta
+ * percorre a menor lista de URIs entre os trigramas do termo e confirma cada candidato contra o nome
+ * normalizado, guardando só os melhores resultados até o limite. Escritas devem ser serializadas pelo
+ * chamador; leituras podem ser concorrentes.
+ */
+public class TrigramIndex {
+
+    private static final int GRAM = 3;
+
+    private final Locale locale;
+    // Cada lista guarda o nome normalizado junto do URI, para confirmar candidatos sem consultar foldedNames
+    private final Map<String, Map<String, String>> postings = new ConcurrentHashMap<>();
+    private final Map<String, String> foldedNames = new ConcurrentHashMap<>();
+
+    public TrigramIndex(Locale locale) {
+        this.locale = locale;
+    }
+
+    public void add(String uri, String name) {
+        String folded = fold(name);
+        String previous = foldedNames.put(uri, folded);
+        if (folded.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            removePostings(uri, previous);
+        }
+        for (String gram : grams(folded)) {
+            postings.computeIfAbsent(gram, key -> new ConcurrentHashMap<>()).put(uri, folded);
+        }
+    }
+
+    public void remove(String uri) {
+        String previous = foldedNames.remove(uri);
+        if (previous != null) {
+            removePostings(uri, previous);
+        }
+    }
+
+    /**
+     * Resources cujo nome contém o termo, ordenados por relevância: nome idêntico, depois prefixo,
+     * início de palavra e demais ocorrências; em cada grupo, nomes mais curtos primeiro.
+     */
+    public SearchResult search(String term, int limit) {
+        String pattern = fold(term);
+        TopMatches top = new TopMatches(pattern, limit);
+
+        Set<String> grams = grams(pattern);
+        if (grams.isEmpty()) {
+            // Termos com menos de três caracteres não têm trigramas: confere os nomes já normalizados
+            foldedNames.forEach(top::offer);
+        } else {
+            // Todo nome que contém o termo está na lista de cada trigrama dele, então basta percorrer
+            // a menor lista e confirmar cada candidato contra o nome, sem intersectar as demais
+            smallestPosting(grams).forEach(top::offer);
+        }
+        return new SearchResult(top.toList(), top.total);
+    }
+
+    public String fold(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(locale);
+    }
+
+    private Map<String, String> smallestPosting(Set<String> grams) {
+        Map<String, String> smallest = null;
+        for (String gram : grams) {
+            Map<String, String> list = postings.get(gram);
+            if (list == null) {
+                return Map.of();
+            }
+            if (smallest == null || list.size() < smallest.size()) {
+                smallest = list;
+            }
+        }
+        return smallest;
+    }
+
+    private void removePostings(String uri, String folded) {
+        for (String gram : grams(folded)) {
+            postings.computeIfPresent(gram, (key, uris) -> {
+                uris.remove(uri);
+                return uris.isEmpty() ? null : uris;
+            });
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        if (text.length() < GRAM) {
+            return Set.of();
+        }
+        Set<String> grams = new HashSet<>(text.length());
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static int rank(String name, String pattern, int position) {
+        if (name.length() == pattern.length()) {
+            return 0;
+        }
+        if (position == 0) {
+            return 1;
+        }
+        if (!Character.isLetterOrDigit(name.charAt(position - 1))) {
+            return 2;
+        }
+        return 3;
+    }
+
+    public static final class SearchResult {
+
+        private final List<String> uris;
+        private final int total;
+
+        private SearchResult(List<String> uris, int total) {
+            this.uris = uris;
+            this.total = total;
+        }
+
+        public List<String> getUris() {
+            return uris;
+        }
+
+        /**
+         * Total de nomes que contêm o termo, antes do limite.
+         */
+        public int getTotal() {
+            return total;
+        }
+    }
+
+    /**
+     * Mantém apenas os {@code limit} melhores resultados num heap com o pior no topo, de modo que
+     * termos frequentes não exigem ordenar nem alocar todas as ocorrências.
+     */
+    private static final class TopMatches {
+
+        private final String pattern;
+        private final int limit;
+        private final PriorityQueue<Match> worstFirst;
+        private int total;
+
+        private TopMatches(String pattern, int limit) {
+            this.pattern = pattern;
+            this.limit = limit;
+            this.worstFirst = new PriorityQueue<>(Math.max(1, Math.min(limit, 256)), Comparator.reverseOrder());
+        }
+
+        private void offer(String uri, String name) {
+            int position = name.indexOf(pattern);
+            if (position < 0) {
+                return;
+            }
+            total++;
+            int rank = rank(name, pattern, position);
+            if (worstFirst.size() < limit) {
+                worstFirst.add(new Match(uri, name, rank));
+            } else if (!worstFirst.isEmpty() && worstFirst.peek().compareTo(rank, name, uri) > 0) {
+                worstFirst.poll();
+                worstFirst.add(new Match(uri, name, rank));
+            }
+        }
+
+        private List<String> toList() {
+            List<Match> matches = new ArrayList<>(worstFirst);
+            Collections.sort(matches);
+            List<String> uris = new ArrayList<>(matches.size());
+            for (Match match : matches) {
+                uris.add(match.uri);
+            }
+            return uris;
+        }
+    }
+
+    private static final class Match implements Comparable<Match> {
+
+        private final String uri;
+        private final String name;
+        private final int rank;
+
+        private Match(String uri, String name, int rank) {
+            this.uri = uri;
+            this.name = name;
+            this.rank = rank;
+        }
+
+        @Override
+        public int compareTo(Match other) {
+            return compareTo(other.rank, other.name, other.uri);
+        }
+
+        private int compareTo(int otherRank, String otherName, String otherUri) {
+            int order = Integer.compare(rank, otherRank);
+            if (order == 0) {
+                order = Integer.compare(name.length(), otherName.length());
+            }
+            if (order == 0) {
+                order = name.compareTo(otherName);
+            }
+            return order != 0 ? order : uri.compareTo(otherUri);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.mcp.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Índice ordenado dos URIs dos resources para listagem hierárquica por prefixo.
+ *
+ * A listagem posiciona-se no prefixo (ou no cursor) com uma busca logarítmica e avança apenas pelos itens
+ * retornados: quando o limite de profundidade recolhe uma subárvore em um diretório, a iteração salta
+ * direto para depois dela. O custo de uma página depende do tamanho da página, não do catálogo.
+ */
+public class UriTreeIndex {
+
+    private static final char SEPARATOR = '/';
+    private static final char SUBTREE_END = Character.MAX_VALUE;
+    private static final String RESOURCE_CURSOR = "r:";
+    private static final String DIRECTORY_CURSOR = "d:";
+
+    private final ConcurrentSkipListSet<String> uris = new ConcurrentSkipListSet<>();
+
+    public void add(String uri) {
+        uris.add(uri);
+    }
+
+    public void remove(String uri) {
+        uris.remove(uri);
+    }
+
+    /**
+     * Lista os URIs sob o prefixo. Com {@code depth}, URIs com mais de {@code depth} segmentos após o prefixo
+     * aparecem uma única vez como o diretório que os contém.
+     */
+    public Listing list(String prefix, Integer depth, String cursor, int limit) {
+        String from = prefix;
+        boolean inclusive = true;
+        if (cursor != null) {
+            String position = decodeCursor(cursor);
+            if (position.startsWith(DIRECTORY_CURSOR)) {
+                from = position.substring(DIRECTORY_CURSOR.length()) + SUBTREE_END;
+            } else {
+                from = position.substring(RESOURCE_CURSOR.length());
+                inclusive = false;
+            }
+            if (!from.startsWith(prefix)) {
+                throw new IllegalArgumentException("Cursor não pertence ao prefixo informado");
+            }
+        }
+
+        List<Entry> entries = new ArrayList<>(Math.min(limit, 256));
+        String next;
+        while ((next = inclusive ? uris.ceiling(from) : uris.higher(from)) != null && next.startsWith(prefix)) {
+            if (entries.size() == limit) {
+                Entry last = entries.get(entries.size() - 1);
+                return new Listing(entries, encodeCursor(last));
+            }
+
+            String directory = depth != null ? directoryAt(next, prefix, depth) : null;
+            if (directory != null) {
+                entries.add(new Entry(directory, true));
+                from = directory + SUBTREE_END;
+                inclusive = true;
+            } else {
+                entries.add(new Entry(next, false));
+                from = next;
+                inclusive = false;
+            }
+        }
+        return new Listing(entries, null);
+    }
+
+    /**
+     * Diretório de profundidade {@code depth} sob o prefixo que contém o URI, ou {@code null} se o URI
+     * está dentro do limite de profundidade.
+     */
+    private static String directoryAt(String uri, String prefix, int depth) {
+        int separators = 0;
+        for (int i = prefix.length(); i < uri.length(); i++) {
+            if (uri.charAt(i) == SEPARATOR && ++separators == depth) {
+                return uri.substring(0, i + 1);
+            }
+        }
+        return null;
+    }
+
+    private static String encodeCursor(Entry entry) {
+        String position = (entry.directory ? DIRECTORY_CURSOR : RESOURCE_CURSOR) + entry.uri;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (position.startsWith(RESOURCE_CURSOR) || position.startsWith(DIRECTORY_CURSOR)) {
+                return position;
+            }
+        } catch (IllegalArgumentException e) {
+            // Tratado abaixo como cursor inválido
+        }
+        throw new IllegalArgumentException("Cursor inválido: " + cursor);
+    }
+
+    public static final class Entry {
+
+        private final String uri;
+        private final boolean directory;
+
+        private Entry(String uri, boolean directory) {
+            this.uri = uri;
+            this.directory = directory;
+        }
+
+        public String getUri() {
+            return uri;
+        }
+
+        public boolean isDirectory() {
+            return directory;
+        }
+    }
+
+    public static final class Listing {
+
+        private final List<Entry> entries;
+        private final String nextCursor;
+
+        private Listing(List<Entry> entries, String nextCursor) {
+            this.entries = entries;
+            this.nextCursor = nextCursor;
+        }
+
+        public List<Entry> getEntries() {
+            return entries;
+        }
+
+        public String getNextCursor() {
+            return nextCursor;
+        }
+    }
+}
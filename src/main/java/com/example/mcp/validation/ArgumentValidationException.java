@@ -0,0 +1,23 @@
+package com.example.mcp.validation;
+
+import java.util.List;
+
+public class ArgumentValidationException extends IllegalArgumentException {
+    
+    private final String toolName;
+    private final List<SchemaViolation> violations;
+    
+    public ArgumentValidationException(String toolName, List<SchemaViolation> violations) {
+        super("Argumentos inválidos para a tool '" + toolName + "'");
+        this.toolName = toolName;
+        this.violations = List.copyOf(violations);
+    }
+    
+    public String getToolName() {
+        return toolName;
+    }
+    
+    public List<SchemaViolation> getViolations() {
+        return violations;
+    }
+}
@@ -0,0 +1,386 @@
+package com.example.mcp.validation;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Schema de entrada de uma tool compilado em uma árvore de validadores.
+ *
+ * Suporta o subconjunto de JSON Schema usado pelas tools: type, enum, required,
+ * properties, additionalProperties, items, minimum/maximum, exclusiveMinimum/exclusiveMaximum,
+ * minLength/maxLength, minItems/maxItems e pattern. Palavras-chave desconhecidas são ignoradas.
+ */
+public final class CompiledSchema {
+
+    private static final String ROOT_PATH = "$";
+
+    private final Node root;
+
+    private CompiledSchema(Node root) {
+        this.root = root;
+    }
+
+    public static CompiledSchema compile(Map<String, Object> schema) {
+        return new CompiledSchema(compileNode(schema, ROOT_PATH));
+    }
+
+    public List<SchemaViolation> validate(Object value) {
+        List<SchemaViolation> violations = new ArrayList<>(0);
+        root.validate(value, new Path(), violations);
+        return violations;
+    }
+
+    @FunctionalInterface
+    private interface Node {
+        void validate(Object value, Path path, List<SchemaViolation> violations);
+    }
+
+    private static final Node ACCEPT_ALL = (value, path, violations) -> { };
+
+    private static Node compileNode(Object schemaDefinition, String location) {
+        if (schemaDefinition instanceof Boolean allowed) {
+            return allowed ? ACCEPT_ALL
+                    : (value, path, violations) -> violations.add(new SchemaViolation(path.toString(), "nenhum valor é permitido"));
+        }
+
+        if (!(schemaDefinition instanceof Map<?, ?> schema)) {
+            throw new IllegalArgumentException("Schema inválido em " + location + ": esperado um objeto");
+        }
+
+        List<Node> nodes = new ArrayList<>();
+
+        Object type = schema.get("type");
+        if (type != null) {
+            nodes.add(typeNode(type, location));
+        }
+
+        Object enumValues = schema.get("enum");
+        if (enumValues != null) {
+            nodes.add(enumNode(enumValues, location));
+        }
+
+        addNumericBounds(schema, location, nodes);
+        addStringConstraints(schema, location, nodes);
+        addObjectConstraints(schema, location, nodes);
+        addArrayConstraints(schema, location, nodes);
+
+        if (nodes.isEmpty()) {
+            return ACCEPT_ALL;
+        }
+        if (nodes.size() == 1) {
+            return nodes.get(0);
+        }
+
+        Node[] chain = nodes.toArray(new Node[0]);
+        return (value, path, violations) -> {
+            for (Node node : chain) {
+                node.validate(value, path, violations);
+            }
+        };
+    }
+
+    private static Node typeNode(Object type, String location) {
+        List<String> types = new ArrayList<>();
+        if (type instanceof String single) {
+            types.add(single);
+        } else if (type instanceof List<?> multiple) {
+            for (Object entry : multiple) {
+                if (!(entry instanceof String name)) {
+                    throw new IllegalArgumentException("Schema inválido em " + location + ": type deve conter strings");
+                }
+                types.add(name);
+            }
+        } else {
+            throw new IllegalArgumentException("Schema inválido em " + location + ": type deve ser string ou lista");
+        }
+
+        for (String name : types) {
+            if (!isKnownType(name)) {
+                throw new IllegalArgumentException("Schema inválido em " + location + ": tipo desconhecido '" + name + "'");
+            }
+        }
+
+        String[] accepted = types.toArray(new String[0]);
+        String expected = String.join(" | ", types);
+        return (value, path, violations) -> {
+            for (String name : accepted) {
+                if (matchesType(name, value)) {
+                    return;
+                }
+            }
+            violations.add(new SchemaViolation(path.toString(), "tipo esperado: " + expected));
+        };
+    }
+
+    private static Node enumNode(Object enumValues, String location) {
+        if (!(enumValues instanceof Collection<?> values) || values.isEmpty()) {
+            throw new IllegalArgumentException("Schema inválido em " + location + ": enum deve ser uma lista não vazia");
+        }
+
+        Set<Object> allowed = new HashSet<>();
+        for (Object allowedValue : values) {
+            allowed.add(normalize(allowedValue));
+        }
+
+        String description = values.toString();
+        return (value, path, violations) -> {
+            if (!allowed.contains(normalize(value))) {
+                violations.add(new SchemaViolation(path.toString(), "valor deve ser um de " + description));
+            }
+        };
+    }
+
+    private static void addNumericBounds(Map<?, ?> schema, String location, List<Node> nodes) {
+        Double minimum = numberKeyword(schema, "minimum", location);
+        Double maximum = numberKeyword(schema, "maximum", location);
+        Double exclusiveMinimum = numberKeyword(schema, "exclusiveMinimum", location);
+        Double exclusiveMaximum = numberKeyword(schema, "exclusiveMaximum", location);
+
+        if (minimum == null && maximum == null && exclusiveMinimum == null && exclusiveMaximum == null) {
+            return;
+        }
+
+        nodes.add((value, path, violations) -> {
+            if (!(value instanceof Number number)) {
+                return;
+            }
+            double d = number.doubleValue();
+            if (minimum != null && d < minimum) {
+                violations.add(new SchemaViolation(path.toString(), "valor deve ser maior ou igual a " + minimum));
+            }
+            if (maximum != null && d > maximum) {
+                violations.add(new SchemaViolation(path.toString(), "valor deve ser menor ou igual a " + maximum));
+            }
+            if (exclusiveMinimum != null && d <= exclusiveMinimum) {
+                violations.add(new SchemaViolation(path.toString(), "valor deve ser maior que " + exclusiveMinimum));
+            }
+            if (exclusiveMaximum != null && d >= exclusiveMaximum) {
+                violations.add(new SchemaViolation(path.toString(), "valor deve ser menor que " + exclusiveMaximum));
+            }
+        });
+    }
+
+    private static void addStringConstraints(Map<?, ?> schema, String location, List<Node> nodes) {
+        Integer minLength = intKeyword(schema, "minLength", location);
+        Integer maxLength = intKeyword(schema, "maxLength", location);
+        Object patternDefinition = schema.get("pattern");
+
+        Pattern pattern = null;
+        if (patternDefinition != null) {
+            if (!(patternDefinition instanceof String regex)) {
+                throw new IllegalArgumentException("Schema inválido em " + location + ": pattern deve ser string");
+            }
+            pattern = Pattern.compile(regex);
+        }
+
+        if (minLength == null && maxLength == null && pattern == null) {
+            return;
+        }
+
+        Pattern compiledPattern = pattern;
+        nodes.add((value, path, violations) -> {
+            if (!(value instanceof String text)) {
+                return;
+            }
+            int length = text.codePointCount(0, text.length());
+            if (minLength != null && length < minLength) {
+                violations.add(new SchemaViolation(path.toString(), "tamanho mínimo é " + minLength));
+            }
+            if (maxLength != null && length > maxLength) {
+                violations.add(new SchemaViolation(path.toString(), "tamanho máximo é " + maxLength));
+            }
+            if (compiledPattern != null && !compiledPattern.matcher(text).find()) {
+                violations.add(new SchemaViolation(path.toString(), "valor não corresponde ao padrão " + compiledPattern.pattern()));
+            }
+        });
+    }
+
+    private static void addObjectConstraints(Map<?, ?> schema, String location, List<Node> nodes) {
+        Object propertiesDefinition = schema.get("properties");
+        Object requiredDefinition = schema.get("required");
+        Object additionalDefinition = schema.get("additionalProperties");
+
+        if (propertiesDefinition == null && requiredDefinition == null && additionalDefinition == null) {
+            return;
+        }
+
+        Map<String, Node> properties = new HashMap<>();
+        if (propertiesDefinition != null) {
+            if (!(propertiesDefinition instanceof Map<?, ?> definitions)) {
+                throw new IllegalArgumentException("Schema inválido em " + location + ": properties deve ser um objeto");
+            }
+            for (Map.Entry<?, ?> entry : definitions.entrySet()) {
+                String name = String.valueOf(entry.getKey());
+                properties.put(name, compileNode(entry.getValue(), location + "." + name));
+            }
+        }
+
+        String[] required = new String[0];
+        if (requiredDefinition != null) {
+            if (!(requiredDefinition instanceof Collection<?> names)) {
+                throw new IllegalArgumentException("Schema inválido em " + location + ": required deve ser uma lista");
+            }
+            required = names.stream().map(String::valueOf).toArray(String[]::new);
+        }
+
+        Node additional = null;
+        if (additionalDefinition != null && !Boolean.TRUE.equals(additionalDefinition)) {
+            additional = compileNode(additionalDefinition, location + ".additionalProperties");
+        }
+
+        String[] requiredNames = required;
+        Node additionalNode = additional;
+        nodes.add((value, path, violations) -> {
+            if (!(value instanceof Map<?, ?> object)) {
+                return;
+            }
+            for (String name : requiredNames) {
+                if (object.get(name) == null) {
+                    path.push(name);
+                    violations.add(new SchemaViolation(path.toString(), "campo obrigatório ausente"));
+                    path.pop();
+                }
+            }
+            for (Map.Entry<?, ?> entry : object.entrySet()) {
+                String name = String.valueOf(entry.getKey());
+                Node property = properties.get(name);
+                Node node = property != null ? property : additionalNode;
+                if (node == null || (property != null && entry.getValue() == null)) {
+                    continue;
+                }
+                path.push(name);
+                node.validate(entry.getValue(), path, violations);
+                path.pop();
+            }
+        });
+    }
+
+    private static void addArrayConstraints(Map<?, ?> schema, String location, List<Node> nodes) {
+        Object itemsDefinition = schema.get("items");
+        Integer minItems = intKeyword(schema, "minItems", location);
+        Integer maxItems = intKeyword(schema, "maxItems", location);
+
+        if (itemsDefinition == null && minItems == null && maxItems == null) {
+            return;
+        }
+
+        Node items = itemsDefinition != null ? compileNode(itemsDefinition, location + "[]") : null;
+        nodes.add((value, path, violations) -> {
+            if (!(value instanceof List<?> list)) {
+                return;
+            }
+            if (minItems != null && list.size() < minItems) {
+                violations.add(new SchemaViolation(path.toString(), "quantidade mínima de itens é " + minItems));
+            }
+            if (maxItems != null && list.size() > maxItems) {
+                violations.add(new SchemaViolation(path.toString(), "quantidade máxima de itens é " + maxItems));
+            }
+            if (items != null) {
+                for (int i = 0; i < list.size(); i++) {
+                    path.push(i);
+                    items.validate(list.get(i), path, violations);
+                    path.pop();
+                }
+            }
+        });
+    }
+
+    private static Double numberKeyword(Map<?, ?> schema, String keyword, String location) {
+        Object value = schema.get(keyword);
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof Number number)) {
+            throw new IllegalArgumentException("Schema inválido em " + location + ": " + keyword + " deve ser numérico");
+        }
+        return number.doubleValue();
+    }
+
+    private static Integer intKeyword(Map<?, ?> schema, String keyword, String location) {
+        Double value = numberKeyword(schema, keyword, location);
+        return value == null ? null : value.intValue();
+    }
+
+    private static boolean isKnownType(String type) {
+        return switch (type) {
+            case "object", "array", "string", "number", "integer", "boolean", "null" -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean matchesType(String type, Object value) {
+        return switch (type) {
+            case "object" -> value instanceof Map;
+            case "array" -> value instanceof List;
+            case "string" -> value instanceof String;
+            case "number" -> value instanceof Number;
+            case "integer" -> isInteger(value);
+            case "boolean" -> value instanceof Boolean;
+            case "null" -> value == null;
+            default -> false;
+        };
+    }
+
+    private static boolean isInteger(Object value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short
+                || value instanceof Byte || value instanceof java.math.BigInteger) {
+            return true;
+        }
+        if (value instanceof Number number) {
+            double d = number.doubleValue();
+            return !Double.isInfinite(d) && d == Math.rint(d);
+        }
+        return false;
+    }
+
+    private static Object normalize(Object value) {
+        // 1 e 1.0 devem ser considerados iguais na comparação com enum
+        return value instanceof Number number ? (Object) number.doubleValue() : value;
+    }
+
+    /**
+     * Caminho do valor em validação, mantido como pilha de segmentos reaproveitada durante toda a validação;
+     * a string só é montada quando uma violação é registrada.
+     */
+    private static final class Path {
+
+        private String[] names = new String[8];
+        private int[] indexes = new int[8];
+        private int depth;
+
+        private void push(String name) {
+            grow();
+            names[depth++] = name;
+        }
+
+        private void push(int index) {
+            grow();
+            names[depth] = null;
+            indexes[depth++] = index;
+        }
+
+        private void pop() {
+            names[--depth] = null;
+        }
+
+        private void grow() {
+            if (depth == names.length) {
+                names = Arrays.copyOf(names, depth * 2);
+                indexes = Arrays.copyOf(indexes, depth * 2);
+            }
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder(ROOT_PATH);
+            for (int i = 0; i < depth; i++) {
+                if (names[i] != null) {
+                    builder.append('.').append(names[i]);
+                } else {
+                    builder.append('[').append(indexes[i]).append(']');
+                }
+            }
+            return builder.toString();
+        }
+    }
+}
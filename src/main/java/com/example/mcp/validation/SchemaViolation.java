@@ -0,0 +1,20 @@
+package com.example.mcp.validation;
+
+public class SchemaViolation {
+    
+    private final String path;
+    private final String message;
+    
+    public SchemaViolation(String path, String message) {
+        this.path = path;
+        this.message = message;
+    }
+    
+    public String getPath() {
+        return path;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+}
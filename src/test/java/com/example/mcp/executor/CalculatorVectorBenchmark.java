@@ -0,0 +1,66 @@
+package com.example.mcp.executor;
+
+import com.example.mcp.service.ExecutionKey;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara uma chamada vetorial da calculadora com o mesmo trabalho feito em uma chamada por elemento,
+ * e mede o custo da chave de coalescência/cache para esses argumentos, com e sem o limite de tamanho.
+ * Cada invocação processa {@code length} elementos, então os tempos são diretamente comparáveis.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculatorVectorBenchmark {
+
+    @Param({"1000", "100000"})
+    public int length;
+
+    private final CalculatorExecutor calculator = new CalculatorExecutor();
+    private Map<String, Object> vectorArguments;
+    private List<Map<String, Object>> scalarArguments;
+
+    @Setup
+    public void setUp() {
+        List<Double> a = new ArrayList<>(length);
+        List<Double> b = new ArrayList<>(length);
+        scalarArguments = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            a.add(i + 0.5);
+            b.add(length - i + 0.25);
+            scalarArguments.add(Map.of("operation", "multiply", "a", a.get(i), "b", b.get(i)));
+        }
+        vectorArguments = Map.of("operation", "multiply", "a", a, "b", b);
+    }
+
+    @Benchmark
+    public Object vector() {
+        return calculator.execute(vectorArguments);
+    }
+
+    @Benchmark
+    public void perCall(Blackhole blackhole) {
+        for (Map<String, Object> arguments : scalarArguments) {
+            blackhole.consume(calculator.execute(arguments));
+        }
+    }
+
+    @Benchmark
+    public ExecutionKey keyUnbounded() {
+        return ExecutionKey.of("calculator", vectorArguments);
+    }
+
+    @Benchmark
+    public ExecutionKey keyBounded() {
+        return ExecutionKey.of("calculator", vectorArguments, 4096);
+    }
+}
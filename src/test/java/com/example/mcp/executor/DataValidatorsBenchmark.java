@@ -0,0 +1,56 @@
+package com.example.mcp.executor;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara os validadores pré-compilados com o caminho anterior, que chamava {@code String.matches}
+ * (e recompilava a regex) a cada requisição. Rode com {@code -prof gc} para ver a alocação por chamada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataValidatorsBenchmark {
+
+    @Param({"email", "cpf", "phone", "url"})
+    public String dataType;
+
+    private String value;
+
+    @Setup
+    public void setUp() {
+        value = switch (dataType) {
+            case "email" -> "joao.silva@example.com";
+            case "cpf" -> "529.982.247-25";
+            case "phone" -> "(11) 98765-4321";
+            case "url" -> "https://www.example.com/docs/index.html";
+            default -> throw new IllegalArgumentException(dataType);
+        };
+    }
+
+    @Benchmark
+    public boolean precompiled() {
+        return switch (dataType) {
+            case "email" -> DataValidators.isValidEmail(value);
+            case "cpf" -> DataValidators.isValidCpf(value);
+            case "phone" -> DataValidators.isValidPhone(value);
+            case "url" -> DataValidators.isValidUrl(value);
+            default -> throw new IllegalArgumentException(dataType);
+        };
+    }
+
+    @Benchmark
+    public boolean stringMatches() {
+        return switch (dataType) {
+            case "email" -> value.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+            case "cpf" -> value.matches("^\\d{3}\\.\\d{3}\\.\\d{3}-\\d{2}$") || value.matches("^\\d{11}$");
+            case "phone" -> value.matches("^\\(?\\d{2}\\)?\\s?\\d{4,5}-?\\d{4}$");
+            case "url" -> value.matches("^https?://[A-Za-z0-9.-]+\\.[A-Za-z]{2,}(/.*)?$");
+            default -> throw new IllegalArgumentException(dataType);
+        };
+    }
+}
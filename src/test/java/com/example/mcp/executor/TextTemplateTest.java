@@ -0,0 +1,44 @@
+package com.example.mcp.executor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextTemplateTest {
+
+    @Test
+    void deliversEachLineAsSoonAsItIsRendered() {
+        TextTemplate template = TextTemplate.compile("Olá {name}\nHoje é {date}\nAté {name}");
+        List<String> lines = new ArrayList<>();
+        List<Double> progress = new ArrayList<>();
+
+        StringBuilder out = new StringBuilder();
+        template.renderTo(out, Map.of("name", "Ana\nMaria"), "01/01/2026", (line, fraction) -> {
+            lines.add(line);
+            progress.add(fraction);
+        });
+
+        assertThat(out.toString()).isEqualTo("Olá Ana\nMaria\nHoje é 01/01/2026\nAté Ana\nMaria");
+        assertThat(String.join("", lines)).isEqualTo(out.toString());
+        assertThat(lines).containsExactly("Olá Ana\n", "Maria\n", "Hoje é 01/01/2026\n", "Até Ana\n", "Maria");
+        assertThat(progress).isSorted().last().isEqualTo(1.0);
+    }
+
+    @Test
+    void rendersWithoutSinkExactlyAsWithOne() {
+        TextTemplate template = TextTemplate.compile("{a}-{b}\n");
+        StringBuilder plain = new StringBuilder();
+        template.renderTo(plain, Map.of("a", 1), null);
+
+        List<String> lines = new ArrayList<>();
+        StringBuilder streamed = new StringBuilder();
+        template.renderTo(streamed, Map.of("a", 1), null, (line, fraction) -> lines.add(line));
+
+        assertThat(streamed.toString()).isEqualTo(plain.toString()).isEqualTo("1-\n");
+        assertThat(lines).containsExactly("1-\n");
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.mcp.service;
+
+import com.example.mcp.config.RateLimitConfig;
+import com.example.mcp.model.ExecutionPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlTest {
+
+    private RateLimitConfig config;
+    private ExecutorService pool;
+
+    @BeforeEach
+    void setUp() {
+        config = new RateLimitConfig();
+        config.setEnabled(true);
+        pool = Executors.newFixedThreadPool(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void throttledClientDoesNotSpendTheToolBudget() {
+        config.getPerTool().setRate(1);
+        config.getPerTool().setBurst(2);
+        config.getPerClient().setRate(1);
+        config.getPerClient().setBurst(1);
+        AdmissionControl admission = newAdmissionControl();
+
+        assertThat(admit(admission, "addr:1").isAdmitted()).isTrue();
+        for (int i = 0; i < 10; i++) {
+            AdmissionControl.Decision decision = admit(admission, "addr:1");
+            assertThat(decision.isAdmitted()).isFalse();
+            assertThat(decision.getLimitedBy()).isEqualTo(AdmissionControl.LIMIT_CLIENT);
+        }
+
+        // O segundo token da tool continua disponível para outro cliente
+        assertThat(admit(admission, "addr:2").isAdmitted()).isTrue();
+        assertThat(admit(admission, "addr:3").getLimitedBy()).isEqualTo(AdmissionControl.LIMIT_TOOL);
+    }
+
+    @Test
+    void clientsBeyondTheTrackingLimitShareOneBucket() {
+        config.getPerClient().setRate(0.001);
+        config.getPerClient().setBurst(1);
+        config.setMaxTrackedClients(2);
+        AdmissionControl admission = newAdmissionControl();
+
+        assertThat(admit(admission, "key:a").isAdmitted()).isTrue();
+        assertThat(admit(admission, "key:b").isAdmitted()).isTrue();
+
+        // Sem vagas e sem baldes ociosos: chaves novas caem no balde compartilhado
+        assertThat(admit(admission, "key:c").isAdmitted()).isTrue();
+        assertThat(admit(admission, "key:d").isAdmitted()).isFalse();
+        assertThat(admit(admission, "key:e").isAdmitted()).isFalse();
+    }
+
+    @Test
+    void refusedBatchReturnsTheTokensItAlreadyTook() {
+        config.getPerTool().setRate(0.001);
+        config.getPerTool().setBurst(3);
+        config.getPerClient().setRate(0.001);
+        config.getPerClient().setBurst(10);
+        AdmissionControl admission = newAdmissionControl();
+        assertThat(admission.admit("text_generator", "addr:2", ExecutionPriority.NORMAL).isAdmitted()).isTrue();
+
+        AdmissionControl.Decision decision = admission.admitBatch(
+                List.of("calculator", "calculator", "text_generator", "text_generator", "text_generator"),
+                "addr:1", ExecutionPriority.NORMAL);
+        assertThat(decision.isAdmitted()).isFalse();
+        assertThat(decision.getLimitedBy()).isEqualTo(AdmissionControl.LIMIT_TOOL);
+
+        // Os tokens do calculator e do cliente consumidos antes da recusa voltaram aos baldes
+        assertThat(admission.admitBatch(List.of("calculator", "calculator", "calculator"), "addr:1",
+                ExecutionPriority.NORMAL).isAdmitted()).isTrue();
+        assertThat(admit(admission, "addr:1").getLimitedBy()).isEqualTo(AdmissionControl.LIMIT_TOOL);
+    }
+
+    @Test
+    void batchIsChargedPerItemToTheClient() {
+        config.getPerClient().setRate(0.001);
+        config.getPerClient().setBurst(3);
+        AdmissionControl admission = newAdmissionControl();
+
+        assertThat(admission.admitBatch(List.of("calculator", "calculator"), "addr:1",
+                ExecutionPriority.NORMAL).isAdmitted()).isTrue();
+
+        AdmissionControl.Decision decision = admission.admitBatch(List.of("calculator", "calculator"), "addr:1",
+                ExecutionPriority.NORMAL);
+        assertThat(decision.isClientLimited()).isTrue();
+        assertThat(decision.getRetryAfterSeconds()).isPositive();
+        assertThat(admit(admission, "addr:1").isAdmitted()).isTrue();
+    }
+
+    private AdmissionControl newAdmissionControl() {
+        return new AdmissionControl(config, new SimpleMeterRegistry(), pool, pool);
+    }
+
+    private static AdmissionControl.Decision admit(AdmissionControl admission, String clientKey) {
+        return admission.admit("calculator", clientKey, ExecutionPriority.NORMAL);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.mcp.service;
+
+import com.example.mcp.config.ExecutionHistoryConfig;
+import com.example.mcp.config.ExecutionJournalConfig;
+import com.example.mcp.config.ToolExecutionConfig;
+import com.example.mcp.model.ToolExecution;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Vazão de execuções concluídas registradas no histórico: apenas em memória, com journal sem fsync
+ * e com journal e fsync por lote. A espera na fila é longa o bastante para que o journal aplique
+ * contrapressão em vez de descartar registros, então o resultado reflete a vazão sustentada de gravação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class ExecutionJournalBenchmark {
+
+    @Param({"memory", "journal", "journal-fsync"})
+    public String mode;
+
+    private final Map<String, Object> arguments = Map.of("operation", "add", "a", 1, "b", 2);
+    private final Map<String, Object> result = Map.of("operation", "add", "a", 1, "b", 2, "result", 3);
+
+    private Path directory;
+    private ExecutionStore store;
+    private ExecutionJournal journal;
+    private ExecutionIdGenerator idGenerator;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ToolExecutionConfig executionConfig = new ToolExecutionConfig();
+        executionConfig.setNodeId(1);
+        idGenerator = new ExecutionIdGenerator(executionConfig);
+
+        ExecutionHistoryConfig historyConfig = new ExecutionHistoryConfig();
+        store = new ExecutionStore(historyConfig, new SimpleMeterRegistry());
+
+        directory = Files.createTempDirectory("journal-benchmark");
+        ExecutionJournalConfig config = new ExecutionJournalConfig();
+        config.setEnabled(!mode.equals("memory"));
+        config.setDirectory(directory.toString());
+        config.setFsync(mode.equals("journal-fsync"));
+        config.setOfferTimeout(Duration.ofSeconds(30));
+        journal = new ExecutionJournal(config, historyConfig, store,
+                new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry());
+        journal.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        journal.stop();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public ToolExecution recordExecution() {
+        ToolExecution execution = new ToolExecution(idGenerator.nextId(), "calculator", arguments);
+        execution.markCompleted(result);
+        store.save(execution);
+        journal.append(execution);
+        return execution;
+    }
+}
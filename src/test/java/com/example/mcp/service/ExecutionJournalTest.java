@@ -0,0 +1,127 @@
+package com.example.mcp.service;
+
+import com.example.mcp.config.ExecutionHistoryConfig;
+import com.example.mcp.config.ExecutionJournalConfig;
+import com.example.mcp.config.ToolExecutionConfig;
+import com.example.mcp.model.ToolExecution;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.health.Status;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExecutionJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private ExecutionJournalConfig config;
+    private ExecutionIdGenerator idGenerator;
+
+    @BeforeEach
+    void setUp() {
+        config = new ExecutionJournalConfig();
+        config.setEnabled(true);
+        config.setDirectory(directory.toString());
+        config.setFsync(false);
+
+        ToolExecutionConfig executionConfig = new ToolExecutionConfig();
+        executionConfig.setNodeId(1);
+        idGenerator = new ExecutionIdGenerator(executionConfig);
+    }
+
+    @Test
+    void replayRestoresAppendedExecutions() throws Exception {
+        List<ToolExecution> written = writeExecutions(3);
+
+        ExecutionStore store = new ExecutionStore(new ExecutionHistoryConfig(), new SimpleMeterRegistry());
+        ExecutionJournal journal = open(store);
+        journal.stop();
+
+        assertThat(store.size()).isEqualTo(3);
+        ToolExecution restored = store.findById(written.get(1).getExecutionId()).orElseThrow();
+        assertThat(restored.getStatus()).isEqualTo(ToolExecution.STATUS_SUCCESS);
+        assertThat(restored.getToolName()).isEqualTo("calculator");
+    }
+
+    @Test
+    void replayDropsTruncatedTailAndKeepsAppendingAfterIt() throws Exception {
+        List<ToolExecution> written = writeExecutions(3);
+        Path segment = singleSegment();
+        long fullSize = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            // Simula uma gravação interrompida no meio do último registro
+            channel.truncate(fullSize - 5);
+        }
+
+        ExecutionStore store = new ExecutionStore(new ExecutionHistoryConfig(), new SimpleMeterRegistry());
+        ExecutionJournal journal = open(store);
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.findById(written.get(2).getExecutionId())).isEmpty();
+        assertThat(Files.size(segment)).isLessThan(fullSize - 5);
+
+        ToolExecution appended = completed();
+        journal.append(appended);
+        journal.stop();
+
+        ExecutionStore reopened = new ExecutionStore(new ExecutionHistoryConfig(), new SimpleMeterRegistry());
+        open(reopened).stop();
+        assertThat(reopened.size()).isEqualTo(3);
+        assertThat(reopened.findById(written.get(0).getExecutionId())).isPresent();
+        assertThat(reopened.findById(appended.getExecutionId())).isPresent();
+    }
+
+    @Test
+    void healthReportsRunningJournal() throws Exception {
+        ExecutionJournal journal = open(new ExecutionStore(new ExecutionHistoryConfig(), new SimpleMeterRegistry()));
+        try {
+            assertThat(journal.health().getStatus()).isEqualTo(Status.UP);
+        } finally {
+            journal.stop();
+        }
+        assertThat(journal.health().getStatus()).isEqualTo(Status.DOWN);
+    }
+
+    private List<ToolExecution> writeExecutions(int count) throws Exception {
+        ExecutionJournal journal = open(new ExecutionStore(new ExecutionHistoryConfig(), new SimpleMeterRegistry()));
+        List<ToolExecution> executions = Stream.generate(this::completed).limit(count).toList();
+        executions.forEach(journal::append);
+        journal.stop();
+        return executions;
+    }
+
+    private ExecutionJournal open(ExecutionStore store) throws IOException {
+        ExecutionJournal journal = new ExecutionJournal(config, new ExecutionHistoryConfig(), store,
+                objectMapper, new SimpleMeterRegistry());
+        journal.start();
+        return journal;
+    }
+
+    private ToolExecution completed() {
+        ToolExecution execution = new ToolExecution(idGenerator.nextId(), "calculator",
+                Map.of("operation", "add", "a", 1, "b", 2));
+        execution.markCompleted(Map.of("result", 3));
+        return execution;
+    }
+
+    private Path singleSegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = files.toList();
+            assertThat(segments).hasSize(1);
+            return segments.get(0);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.mcp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExecutionKeyTest {
+
+    @Test
+    void equivalentArgumentsProduceTheSameKey() {
+        assertThat(ExecutionKey.of("calculator", Map.of("a", List.of(1, 2, 3), "b", 2)))
+                .isEqualTo(ExecutionKey.of("calculator", Map.of("b", 2, "a", List.of(1, 2, 3))))
+                .isNotEqualTo(ExecutionKey.of("calculator", Map.of("a", List.of(1, 2, 3), "b", 3)));
+    }
+
+    @Test
+    void keysBeyondMaxLengthAreNotBuilt() {
+        List<Integer> vector = Collections.nCopies(100_000, 7);
+
+        assertThat(ExecutionKey.of("calculator", Map.of("a", vector, "b", 2), 4096)).isNull();
+        assertThat(ExecutionKey.of("calculator", Map.of("a", "x".repeat(5000)), 4096)).isNull();
+        assertThat(ExecutionKey.of("calculator", Map.of("a", List.of(1, 2, 3), "b", 2), 4096))
+                .isEqualTo(ExecutionKey.of("calculator", Map.of("b", 2, "a", List.of(1, 2, 3))));
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.mcp.service;
+
+import com.example.mcp.config.ExecutionHistoryConfig;
+import com.example.mcp.config.ToolExecutionConfig;
+import com.example.mcp.model.ExecutionPage;
+import com.example.mcp.model.ExecutionQuery;
+import com.example.mcp.model.ToolExecution;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExecutionStoreTest {
+
+    private ExecutionHistoryConfig config;
+    private ExecutionStore store;
+    private ExecutionIdGenerator idGenerator;
+
+    @BeforeEach
+    void setUp() {
+        config = new ExecutionHistoryConfig();
+        store = new ExecutionStore(config, new SimpleMeterRegistry());
+        ToolExecutionConfig executionConfig = new ToolExecutionConfig();
+        executionConfig.setNodeId(1);
+        idGenerator = new ExecutionIdGenerator(executionConfig);
+    }
+
+    @Test
+    void statusIndexFollowsQueuedRunningAndFinalTransitions() {
+        ToolExecution execution = newExecution("calculator");
+        execution.markQueued();
+        store.save(execution);
+        assertThat(ids(byStatus(ToolExecution.STATUS_QUEUED))).containsExactly(execution.getExecutionId());
+
+        execution.markRunning();
+        store.save(execution);
+        assertThat(byStatus(ToolExecution.STATUS_QUEUED)).isEmpty();
+        assertThat(ids(byStatus(ToolExecution.STATUS_RUNNING))).containsExactly(execution.getExecutionId());
+
+        execution.markCompleted(42);
+        store.save(execution);
+        assertThat(byStatus(ToolExecution.STATUS_RUNNING)).isEmpty();
+        assertThat(ids(byStatus(ToolExecution.STATUS_SUCCESS))).containsExactly(execution.getExecutionId());
+    }
+
+    @Test
+    void queryCombinesToolAndStatusIndexesNewestFirst() {
+        ToolExecution first = finished("calculator");
+        ToolExecution other = finished("data_validator");
+        ToolExecution second = finished("calculator");
+        ToolExecution failed = newExecution("calculator");
+        failed.markFailed("erro");
+        store.save(failed);
+
+        ExecutionPage page = store.query(new ExecutionQuery("calculator", ToolExecution.STATUS_SUCCESS, null, null, null, 10));
+
+        assertThat(ids(page.getExecutions())).containsExactly(second.getExecutionId(), first.getExecutionId());
+        assertThat(page.hasMore()).isFalse();
+        assertThat(other.getExecutionId()).isNotIn(ids(page.getExecutions()));
+    }
+
+    @Test
+    void cursorPaginationVisitsEveryExecutionOnce() {
+        for (int i = 0; i < 5; i++) {
+            finished("calculator");
+        }
+
+        ExecutionPage firstPage = store.query(new ExecutionQuery(null, ToolExecution.STATUS_SUCCESS, null, null, null, 2));
+        ExecutionPage secondPage = store.query(
+                new ExecutionQuery(null, ToolExecution.STATUS_SUCCESS, null, null, firstPage.getNextCursor(), 2));
+        ExecutionPage lastPage = store.query(
+                new ExecutionQuery(null, ToolExecution.STATUS_SUCCESS, null, null, secondPage.getNextCursor(), 2));
+
+        assertThat(firstPage.getExecutions()).hasSize(2);
+        assertThat(secondPage.getExecutions()).hasSize(2);
+        assertThat(lastPage.getExecutions()).hasSize(1);
+        assertThat(lastPage.hasMore()).isFalse();
+        assertThat(ids(lastPage.getExecutions())).doesNotContainAnyElementsOf(ids(firstPage.getExecutions()));
+    }
+
+    @Test
+    void evictionKeepsExecutionsThatHaveNotFinished() {
+        config.setMaxEntries(2);
+        ToolExecution queued = newExecution("calculator");
+        queued.markQueued();
+        store.save(queued);
+        ToolExecution running = newExecution("calculator");
+        store.save(running);
+        ToolExecution oldestFinished = finished("calculator");
+        ToolExecution newestFinished = finished("calculator");
+
+        assertThat(store.findById(queued.getExecutionId())).isPresent();
+        assertThat(store.findById(running.getExecutionId())).isPresent();
+        assertThat(store.findById(oldestFinished.getExecutionId())).isEmpty();
+        assertThat(store.findById(newestFinished.getExecutionId())).isEmpty();
+
+        // Ao terminar, as execuções retidas voltam a ser elegíveis, na ordem de criação
+        queued.markCancelled("cancelada");
+        store.save(queued);
+        running.markCompleted(1);
+        store.save(running);
+        ToolExecution latest = finished("calculator");
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.findById(queued.getExecutionId())).isEmpty();
+        assertThat(byStatus(ToolExecution.STATUS_CANCELLED)).isEmpty();
+        assertThat(ids(byStatus(ToolExecution.STATUS_SUCCESS)))
+                .containsExactly(latest.getExecutionId(), running.getExecutionId());
+    }
+
+    @Test
+    void periodFilterUsesCreationTimeForExecutionsThatWaitedInTheQueue() throws InterruptedException {
+        ToolExecution queued = newExecution("calculator");
+        queued.markQueued();
+        store.save(queued);
+        LocalDateTime createdAt = queued.getStartedAt();
+
+        Thread.sleep(5);
+        LocalDateTime whileQueued = LocalDateTime.now();
+        Thread.sleep(5);
+        queued.markRunning();
+        queued.markCompleted(1);
+        store.save(queued);
+
+        // O período segue o instante de criação, o mesmo que ordena os IDs, e não o início após a fila
+        assertThat(ids(store.query(new ExecutionQuery(null, null, null, whileQueued, null, 10)).getExecutions()))
+                .containsExactly(queued.getExecutionId());
+        assertThat(store.query(new ExecutionQuery(null, null, whileQueued, null, null, 10)).getExecutions()).isEmpty();
+        assertThat(queued.getStartedAt()).isEqualTo(createdAt);
+        assertThat(queued.getRunStartedAt()).isAfter(whileQueued);
+    }
+
+    private ToolExecution newExecution(String toolName) {
+        return new ToolExecution(idGenerator.nextId(), toolName, Map.of());
+    }
+
+    private ToolExecution finished(String toolName) {
+        ToolExecution execution = newExecution(toolName);
+        execution.markCompleted(1);
+        store.save(execution);
+        return execution;
+    }
+
+    private List<ToolExecution> byStatus(String status) {
+        return store.query(new ExecutionQuery(null, status, null, null, null, 100)).getExecutions();
+    }
+
+    private static List<String> ids(List<ToolExecution> executions) {
+        return executions.stream().map(ToolExecution::getExecutionId).toList();
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.mcp.service;
+
+import com.example.mcp.config.ResourceCacheConfig;
+import com.example.mcp.config.ResourceIndexConfig;
+import com.example.mcp.model.Resource;
+import com.example.mcp.model.ResourceDescriptor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResourceRepresentationCacheTest {
+
+    private ResourceService resourceService;
+    private ResourceCacheConfig config;
+    private ResourceRepresentationCache cache;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        resourceService = new ResourceService(new ResourceIndexConfig(), objectMapper);
+        config = new ResourceCacheConfig();
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ResourceRepresentationCache(resourceService, config, objectMapper, meterRegistry);
+    }
+
+    @Test
+    void conditionalRequestIsAnsweredFromTheDescriptorAlone() {
+        create("mcp://test/a", "conteúdo");
+        ResourceDescriptor descriptor = cache.describe("mcp://test/a").orElseThrow();
+        String eTag = cache.get(descriptor).orElseThrow().getETag(false);
+
+        assertThat(eTag).isEqualTo(ResourceRepresentationCache.eTag(descriptor, false));
+        assertThat(ResourceRepresentationCache.matchingETag(descriptor, "\"outro\", W/" + eTag)).isEqualTo(eTag);
+        assertThat(ResourceRepresentationCache.matchingETag(descriptor, "\"outro\"")).isNull();
+
+        Resource update = new Resource();
+        update.setName("Renomeado");
+        resourceService.updateResource("mcp://test/a", update);
+        ResourceDescriptor updated = cache.describe("mcp://test/a").orElseThrow();
+
+        // Mesmo conteúdo, nova versão: o ETag anterior deixa de valer
+        assertThat(updated.getContentHash()).isEqualTo(descriptor.getContentHash());
+        assertThat(ResourceRepresentationCache.matchingETag(updated, eTag)).isNull();
+    }
+
+    @Test
+    void evictsBeyondMaxSizeGivingRecentlyReadEntriesASecondChance() {
+        for (int i = 0; i < 4; i++) {
+            create("mcp://test/" + i, "x".repeat(200));
+        }
+        ResourceRepresentationCache.Representation first = cache.get(descriptor("mcp://test/0")).orElseThrow();
+        long entrySize = first.getIdentity().length + (first.getGzip() != null ? first.getGzip().length : 0);
+        config.setMaxSize(DataSize.ofBytes(3 * entrySize + entrySize / 2));
+
+        ResourceRepresentationCache.Representation second = cache.get(descriptor("mcp://test/1")).orElseThrow();
+        cache.get(descriptor("mcp://test/2"));
+        // A leitura com acerto marca a entrada mais antiga, que sobrevive à próxima remoção
+        assertThat(cache.get(descriptor("mcp://test/0"))).containsSame(first);
+        cache.get(descriptor("mcp://test/3"));
+
+        assertThat(cache.get(descriptor("mcp://test/0"))).containsSame(first);
+        assertThat(cache.get(descriptor("mcp://test/1")).orElseThrow()).isNotSameAs(second);
+    }
+
+    @Test
+    void removedResourceIsDroppedFromTheCache() {
+        create("mcp://test/a", "conteúdo");
+        cache.get(descriptor("mcp://test/a"));
+        assertThat(cachedBytes()).isPositive();
+        resourceService.deleteResource("mcp://test/a");
+
+        assertThat(cache.describe("mcp://test/a")).isEmpty();
+        assertThat(cachedBytes()).isZero();
+    }
+
+    @Test
+    void staleDescriptorNeverLabelsNewContentWithTheOldETag() {
+        create("mcp://test/a", "antigo");
+        Resource published = resourceService.getResourceByUri("mcp://test/a").orElseThrow();
+        ResourceDescriptor stale = descriptor("mcp://test/a");
+
+        Resource update = new Resource();
+        update.setContent("novo");
+        resourceService.updateResource("mcp://test/a", update);
+
+        // O resource publicado não é alterado; a leitura com o descritor antigo serve a versão nova com o ETag dela
+        assertThat(published.getContent()).isEqualTo("antigo");
+        ResourceRepresentationCache.Representation representation = cache.get(stale).orElseThrow();
+        ResourceDescriptor current = descriptor("mcp://test/a");
+        assertThat(representation.getETag(false)).isEqualTo(ResourceRepresentationCache.eTag(current, false));
+        assertThat(new String(representation.getIdentity(), StandardCharsets.UTF_8)).contains("novo");
+        assertThat(cache.get(current)).containsSame(representation);
+    }
+
+    private void create(String uri, String content) {
+        resourceService.createResource(new Resource(uri, uri, "teste", "text/plain", content));
+    }
+
+    private double cachedBytes() {
+        return meterRegistry.get("mcp.resources.cache.size").gauge().value();
+    }
+
+    private ResourceDescriptor descriptor(String uri) {
+        return cache.describe(uri).orElseThrow();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.mcp.service;
+
+import com.example.mcp.config.ResultCacheConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResultCacheTest {
+
+    private ResultCacheConfig config;
+    private ResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        config = new ResultCacheConfig();
+        cache = new ResultCache(config, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void returnsStoredResultForEquivalentArguments() {
+        cache.put(key("calculator", 1), cache.generation("calculator"), "um");
+
+        assertThat(cache.get(ExecutionKey.of("calculator", Map.of("b", 2, "a", 1)))).contains("um");
+        assertThat(cache.get(key("calculator", 2))).isEmpty();
+    }
+
+    @Test
+    void evictsOldestEntriesBeyondMaxEntries() {
+        config.setMaxEntries(2);
+        for (int i = 0; i < 5; i++) {
+            cache.put(key("calculator", i), cache.generation("calculator"), i);
+        }
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(key("calculator", 0))).isEmpty();
+        assertThat(cache.get(key("calculator", 4))).contains(4);
+    }
+
+    @Test
+    void expiredEntriesAreDroppedOnRead() throws InterruptedException {
+        config.setTtl(Duration.ofMillis(5));
+        cache.put(key("calculator", 1), cache.generation("calculator"), "um");
+        Thread.sleep(20);
+
+        assertThat(cache.get(key("calculator", 1))).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void invalidationRemovesOnlyTheToolAndDiscardsResultsComputedBefore() {
+        long staleGeneration = cache.generation("calculator");
+        cache.put(key("calculator", 1), staleGeneration, "um");
+        cache.put(key("data_validator", 1), cache.generation("data_validator"), "válido");
+
+        cache.invalidate("calculator");
+        cache.put(key("calculator", 2), staleGeneration, "calculado antes da invalidação");
+
+        assertThat(cache.get(key("calculator", 1))).isEmpty();
+        assertThat(cache.get(key("calculator", 2))).isEmpty();
+        assertThat(cache.get(key("data_validator", 1))).contains("válido");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void removedEntriesDoNotCountTowardsCapacity() {
+        config.setMaxEntries(2);
+        cache.put(key("calculator", 1), cache.generation("calculator"), 1);
+        cache.put(key("calculator", 2), cache.generation("calculator"), 2);
+        cache.invalidate("calculator");
+
+        cache.put(key("data_validator", 1), cache.generation("data_validator"), 1);
+        cache.put(key("data_validator", 2), cache.generation("data_validator"), 2);
+
+        assertThat(cache.get(key("data_validator", 1))).contains(1);
+        assertThat(cache.get(key("data_validator", 2))).contains(2);
+    }
+
+    @Test
+    void evictsOldestEntriesBeyondMaxBytesAndSkipsOversizedResults() {
+        config.setMaxBytes(DataSize.ofKilobytes(32));
+        for (int i = 0; i < 5; i++) {
+            cache.put(key("calculator", i), cache.generation("calculator"), new double[1000]);
+        }
+
+        assertThat(cache.estimatedBytes()).isLessThanOrEqualTo(config.getMaxBytes().toBytes());
+        assertThat(cache.get(key("calculator", 0))).isEmpty();
+        assertThat(cache.get(key("calculator", 4))).isPresent();
+
+        cache.put(key("calculator", 5), cache.generation("calculator"), new double[10_000]);
+        assertThat(cache.get(key("calculator", 5))).isEmpty();
+        assertThat(cache.get(key("calculator", 4))).isPresent();
+    }
+
+    private static ExecutionKey key(String toolName, int a) {
+        return ExecutionKey.of(toolName, Map.of("a", a, "b", 2));
+    }
+}
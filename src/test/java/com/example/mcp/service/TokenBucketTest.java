@@ -0,0 +1,106 @@
+package com.example.mcp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketTest {
+
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void admitsBurstThenReportsTimeUntilNextToken() {
+        TokenBucket bucket = new TokenBucket(10, 3, clock::get);
+
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isEqualTo(INTERVAL);
+
+        clock.addAndGet(INTERVAL / 4);
+        assertThat(bucket.tryAcquire()).isEqualTo(INTERVAL - INTERVAL / 4);
+    }
+
+    @Test
+    void refillsAtConfiguredRateWithoutExceedingBurst() {
+        TokenBucket bucket = new TokenBucket(10, 2, clock::get);
+        drain(bucket);
+
+        clock.addAndGet(INTERVAL);
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isPositive();
+
+        // Muito tempo parado não acumula mais que a rajada
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        assertThat(drain(bucket)).isEqualTo(2);
+    }
+
+    @Test
+    void rejectedAttemptsDoNotConsumeTokens() {
+        TokenBucket bucket = new TokenBucket(10, 1, clock::get);
+        assertThat(bucket.tryAcquire()).isZero();
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire()).isPositive();
+        }
+
+        clock.addAndGet(INTERVAL);
+        assertThat(bucket.tryAcquire()).isZero();
+    }
+
+    @Test
+    void releaseReturnsTheConsumedToken() {
+        TokenBucket bucket = new TokenBucket(10, 2, clock::get);
+        drain(bucket);
+
+        bucket.release();
+
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isPositive();
+    }
+
+    @Test
+    void acquiresSeveralPermitsAtOnceOrNone() {
+        TokenBucket bucket = new TokenBucket(10, 3, clock::get);
+
+        assertThat(bucket.tryAcquire(2)).isZero();
+        assertThat(bucket.tryAcquire(2)).isEqualTo(INTERVAL);
+        assertThat(bucket.tryAcquire()).isZero();
+
+        bucket.release(3);
+        // Acima da rajada, o pedido consome o balde inteiro em vez de nunca ser admitido
+        assertThat(bucket.tryAcquire(10)).isZero();
+        assertThat(bucket.tryAcquire()).isPositive();
+    }
+
+    @Test
+    void isIdleOnlyWhenFull() {
+        TokenBucket bucket = new TokenBucket(10, 2, clock::get);
+        assertThat(bucket.isIdle()).isTrue();
+
+        bucket.tryAcquire();
+        assertThat(bucket.isIdle()).isFalse();
+
+        clock.addAndGet(INTERVAL);
+        assertThat(bucket.isIdle()).isTrue();
+    }
+
+    @Test
+    void rejectsInvalidLimits() {
+        assertThatThrownBy(() -> new TokenBucket(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucket(1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static int drain(TokenBucket bucket) {
+        int admitted = 0;
+        while (bucket.tryAcquire() == 0) {
+            admitted++;
+        }
+        return admitted;
+    }
+}
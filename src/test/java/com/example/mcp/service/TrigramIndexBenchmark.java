@@ -0,0 +1,78 @@
+package com.example.mcp.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca por substring no nome com o índice de trigramas contra a varredura linear que
+ * {@code searchResourcesByName} fazia antes (minúsculas de cada nome a cada consulta).
+ * Com 1M de nomes o índice ocupa algumas centenas de MB, daí o heap maior no fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class TrigramIndexBenchmark {
+
+    private static final String[] WORDS = {
+        "relatorio", "vendas", "config", "usuarios", "pedidos", "estoque", "financeiro", "clientes",
+        "auditoria", "backup", "mensal", "anual", "servidor", "produtos", "notas", "contratos"
+    };
+
+    @Param({"10000", "100000", "1000000"})
+    public int resources;
+
+    /**
+     * {@code selective}: poucos resultados; {@code common}: uma palavra presente em parte dos nomes;
+     * {@code short}: termo sem trigramas, que cai na conferência de todos os nomes.
+     */
+    @Param({"selective", "common", "short"})
+    public String query;
+
+    private TrigramIndex index;
+    private List<String> names;
+    private String term;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new TrigramIndex(Locale.ROOT);
+        names = new ArrayList<>(resources);
+        for (int i = 0; i < resources; i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + "-" + WORDS[random.nextInt(WORDS.length)]
+                    + "-" + i + ".txt";
+            names.add(name);
+            index.add("file:///docs/" + i, name);
+        }
+        term = switch (query) {
+            case "selective" -> "Vendas-" + (resources / 2) + ".";
+            case "common" -> "Auditoria";
+            case "short" -> "-7";
+            default -> throw new IllegalArgumentException(query);
+        };
+    }
+
+    @Benchmark
+    public TrigramIndex.SearchResult trigramIndex() {
+        return index.search(term, 100);
+    }
+
+    @Benchmark
+    public List<String> linearScan() {
+        String pattern = term.toLowerCase();
+        List<String> matches = new ArrayList<>();
+        for (String name : names) {
+            if (name.toLowerCase().contains(pattern)) {
+                matches.add(name);
+            }
+        }
+        return matches;
+    }
+}
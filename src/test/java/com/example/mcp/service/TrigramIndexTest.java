@@ -0,0 +1,61 @@
+package com.example.mcp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramIndexTest {
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex(Locale.ROOT);
+        index.add("file:///relatorio", "Relatório");
+        index.add("file:///relatorio-anual", "Relatório anual");
+        index.add("file:///vendas-relatorio", "vendas relatório");
+        index.add("file:///correlatorio", "correlatório");
+        index.add("file:///config", "config.json");
+    }
+
+    @Test
+    void ranksExactThenPrefixThenWordStartThenOther() {
+        TrigramIndex.SearchResult result = index.search("RELATÓRIO", 10);
+
+        assertThat(result.getUris()).containsExactly(
+                "file:///relatorio",
+                "file:///relatorio-anual",
+                "file:///vendas-relatorio",
+                "file:///correlatorio");
+        assertThat(result.getTotal()).isEqualTo(4);
+    }
+
+    @Test
+    void limitKeepsBestMatchesAndTotalCountsAll() {
+        TrigramIndex.SearchResult result = index.search("relatório", 2);
+
+        assertThat(result.getUris()).containsExactly("file:///relatorio", "file:///relatorio-anual");
+        assertThat(result.getTotal()).isEqualTo(4);
+    }
+
+    @Test
+    void termsShorterThanThreeCharactersScanFoldedNames() {
+        assertThat(index.search("JS", 10).getUris()).containsExactly("file:///config");
+        assertThat(index.search("UA", 10).getUris()).containsExactly("file:///relatorio-anual");
+        assertThat(index.search("", 10).getTotal()).isEqualTo(5);
+    }
+
+    @Test
+    void updatedAndRemovedNamesLeaveNoStalePostings() {
+        index.add("file:///config", "settings.yaml");
+        index.remove("file:///relatorio");
+
+        assertThat(index.search("config", 10).getUris()).isEmpty();
+        assertThat(index.search("settings", 10).getUris()).containsExactly("file:///config");
+        assertThat(index.search("relatório", 10).getUris()).doesNotContain("file:///relatorio");
+        assertThat(index.search("xyz", 10).getTotal()).isZero();
+    }
+}
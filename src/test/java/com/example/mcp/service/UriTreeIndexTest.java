@@ -0,0 +1,75 @@
+package com.example.mcp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UriTreeIndexTest {
+
+    private UriTreeIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UriTreeIndex();
+        index.add("file:///docs/a.txt");
+        for (int i = 0; i < 50; i++) {
+            index.add("file:///docs/reports/" + i + ".txt");
+        }
+        index.add("file:///docs/reports/2024/q1.txt");
+        index.add("file:///docs/z.txt");
+        index.add("file:///other/b.txt");
+    }
+
+    @Test
+    void collapsesSubtreesBeyondDepthIntoTheirDirectory() {
+        UriTreeIndex.Listing listing = index.list("file:///docs/", 1, null, 10);
+
+        assertThat(uris(listing)).containsExactly("file:///docs/a.txt", "file:///docs/reports/", "file:///docs/z.txt");
+        assertThat(listing.getEntries().get(1).isDirectory()).isTrue();
+        assertThat(listing.getNextCursor()).isNull();
+    }
+
+    @Test
+    void cursorOnCollapsedDirectoryResumesAfterItsSubtree() {
+        UriTreeIndex.Listing first = index.list("file:///docs/", 1, null, 2);
+        assertThat(uris(first)).containsExactly("file:///docs/a.txt", "file:///docs/reports/");
+        assertThat(first.getNextCursor()).isNotNull();
+
+        UriTreeIndex.Listing second = index.list("file:///docs/", 1, first.getNextCursor(), 2);
+        assertThat(uris(second)).containsExactly("file:///docs/z.txt");
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void pagesVisitEveryUriOnceWithoutDepth() {
+        List<String> visited = new ArrayList<>();
+        String cursor = null;
+        do {
+            UriTreeIndex.Listing page = index.list("file:///docs/", null, cursor, 7);
+            visited.addAll(uris(page));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(visited).hasSize(53).doesNotHaveDuplicates().isSorted();
+        assertThat(visited).contains("file:///docs/reports/2024/q1.txt").doesNotContain("file:///other/b.txt");
+    }
+
+    @Test
+    void rejectsCursorsFromAnotherPrefixOrMalformed() {
+        String cursor = index.list("file:///docs/", 1, null, 1).getNextCursor();
+
+        assertThatThrownBy(() -> index.list("file:///other/", 1, cursor, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.list("file:///docs/", 1, "não-é-base64!", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<String> uris(UriTreeIndex.Listing listing) {
+        return listing.getEntries().stream().map(UriTreeIndex.Entry::getUri).toList();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.mcp.validation;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de validar argumentos válidos contra o schema compilado da calculadora, com operandos escalares
+ * e com listas de operandos. Rode com {@code -prof gc}: o caminho sem violações não deve alocar por elemento.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompiledSchemaBenchmark {
+
+    @Param({"1", "1000", "100000"})
+    public int operands;
+
+    private CompiledSchema schema;
+    private Map<String, Object> arguments;
+
+    @Setup
+    public void setUp() {
+        Map<String, Object> operand = Map.of(
+                "type", Arrays.asList("number", "array"),
+                "items", Map.of("type", "number"),
+                "maxItems", 100_000);
+        schema = CompiledSchema.compile(Map.of(
+                "type", "object",
+                "properties", Map.of(
+                        "operation", Map.of("type", "string", "enum", Arrays.asList("add", "subtract", "multiply", "divide")),
+                        "a", operand,
+                        "b", operand),
+                "required", Arrays.asList("operation", "a", "b")));
+
+        arguments = Map.of("operation", "multiply", "a", operand(operands), "b", operand(operands));
+    }
+
+    private static Object operand(int length) {
+        if (length == 1) {
+            return 3.5;
+        }
+        List<Object> values = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            values.add((double) i);
+        }
+        return values;
+    }
+
+    @Benchmark
+    public List<SchemaViolation> validate() {
+        return schema.validate(arguments);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.mcp.validation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompiledSchemaTest {
+
+    private static final CompiledSchema SCHEMA = CompiledSchema.compile(Map.of(
+            "type", "object",
+            "properties", Map.of(
+                    "operation", Map.of("type", "string", "enum", List.of("add", "subtract")),
+                    "values", Map.of("type", "array", "items", Map.of("type", "number"), "maxItems", 3),
+                    "options", Map.of(
+                            "type", "object",
+                            "properties", Map.of("scale", Map.of("type", "integer", "minimum", 0)),
+                            "additionalProperties", false)),
+            "required", List.of("operation", "values")));
+
+    @Test
+    void validArgumentsProduceNoViolations() {
+        assertThat(SCHEMA.validate(Map.of(
+                "operation", "add",
+                "values", List.of(1, 2.5, 3),
+                "options", Map.of("scale", 2)))).isEmpty();
+    }
+
+    @Test
+    void violationsCarryThePathOfTheOffendingValue() {
+        List<SchemaViolation> violations = SCHEMA.validate(Map.of(
+                "operation", "divide",
+                "values", List.of(1, "dois", 3, 4),
+                "options", Map.of("scale", -1, "extra", true)));
+
+        assertThat(violations).extracting(SchemaViolation::getPath).containsExactlyInAnyOrder(
+                "$.operation", "$.values", "$.values[1]", "$.options.scale", "$.options.extra");
+    }
+
+    @Test
+    void missingRequiredFieldsAreReportedUnderTheirName() {
+        assertThat(SCHEMA.validate(Map.of("options", Map.of())))
+                .extracting(SchemaViolation::getPath)
+                .containsExactlyInAnyOrder("$.operation", "$.values");
+    }
+
+    @Test
+    void nestedArraysKeepEveryIndexInThePath() {
+        CompiledSchema matrix = CompiledSchema.compile(Map.of(
+                "type", "array",
+                "items", Map.of("type", "array", "items", Map.of("type", "number"))));
+
+        List<SchemaViolation> violations = matrix.validate(List.of(List.of(1, 2), List.of(3, "x")));
+
+        assertThat(violations).extracting(SchemaViolation::getPath).containsExactly("$[1][1]");
+    }
+
+    @Test
+    void invalidSchemaIsRejectedAtCompileTime() {
+        assertThatThrownBy(() -> CompiledSchema.compile(Map.of("type", "tuple")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("tipo desconhecido");
+    }
+}